@@ -3,6 +3,7 @@ plugins {
 	id("org.springframework.boot") version "3.2.0"
 	id("io.spring.dependency-management") version "1.1.4"
 	id("org.liquibase.gradle") version "2.2.0"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "nl.gerimedica"
@@ -35,6 +36,11 @@ dependencies {
 	implementation("org.liquibase:liquibase-core")
 	runtimeOnly("org.postgresql:postgresql")
 
+	// Caching
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("com.github.ben-manes.caffeine:jcache")
+	implementation("org.hibernate.orm:hibernate-jcache")
+
 	// Metrics and Monitoring
 	implementation("io.micrometer:micrometer-registry-prometheus")
 
@@ -58,6 +64,10 @@ dependencies {
 	testImplementation("org.testcontainers:postgresql:1.19.3")
 	testImplementation("org.testcontainers:junit-jupiter:1.19.3")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+	// Benchmark Dependencies
+	jmh("com.h2database:h2")
+	jmhAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 // Liquibase configuration
@@ -78,6 +88,23 @@ tasks.withType<Test> {
 	useJUnitPlatform()
 }
 
+// JMH benchmarks in src/jmh, run with ./gradlew jmh (filter with -Pjmh.includes=<regex>)
+jmh {
+	jmhVersion.set("1.37")
+	fork.set(1)
+	profilers.set(listOf("gc"))
+	resultFormat.set("JSON")
+	resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+	providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+}
+
+// The benchmark fat jar must stay multi-release, or Spring falls back to its pre-Java 21 classes (no virtual threads)
+tasks.named<Jar>("jmhJar") {
+	manifest {
+		attributes("Multi-Release" to "true")
+	}
+}
+
 // Task to generate Liquibase changelog
 tasks.register<org.liquibase.gradle.LiquibaseTask>("generateChangeLog") {
 	dependsOn("classes")
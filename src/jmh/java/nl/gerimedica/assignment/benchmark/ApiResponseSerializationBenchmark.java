@@ -0,0 +1,71 @@
+package nl.gerimedica.assignment.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import nl.gerimedica.assignment.dto.ApiResponse;
+import nl.gerimedica.assignment.dto.AppointmentDTO;
+import nl.gerimedica.assignment.dto.NormalizedAppointments;
+import nl.gerimedica.assignment.dto.PatientDTO;
+import nl.gerimedica.assignment.mappers.AppointmentMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of an ApiResponse holding a list of appointments, as returned by the search endpoints,
+ * in the default shape and the normalized one; ten appointments per patient
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<AppointmentDTO>> response;
+    private ApiResponse<NormalizedAppointments> normalizedResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures for the controllers
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<AppointmentDTO> appointments = new ArrayList<>(size);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < size; i++) {
+            appointments.add(new AppointmentDTO("Reason " + i % 100, start.plusMinutes(i),
+                    new PatientDTO("Patient " + i / 10, String.format("123-%02d-%04d", i / 10 / 10_000 % 100, i / 10 % 10_000))));
+        }
+        response = ApiResponse.success(appointments);
+        normalizedResponse = ApiResponse.success(Mappers.getMapper(AppointmentMapper.class).toNormalized(appointments, null));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeNormalized() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(normalizedResponse);
+    }
+}
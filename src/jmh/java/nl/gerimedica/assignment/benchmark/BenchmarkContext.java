@@ -0,0 +1,48 @@
+package nl.gerimedica.assignment.benchmark;
+
+import nl.gerimedica.assignment.AssignmentApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Starts the application without the web layer against an in-memory H2 database in PostgreSQL mode,
+ * so the benchmarks run on any machine without a database server
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param overrides Additional properties, e.g. hospital.* settings under test
+     */
+    static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:jmh;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.properties.hibernate.show_sql", "false");
+        properties.put("spring.liquibase.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+        properties.put("logging.level.nl.gerimedica", "WARN");
+        properties.putAll(overrides);
+
+        // Passed as command line arguments: default properties would lose against application.yml
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+
+        return new SpringApplicationBuilder(AssignmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+}
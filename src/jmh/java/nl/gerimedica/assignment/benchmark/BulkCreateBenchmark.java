@@ -0,0 +1,111 @@
+package nl.gerimedica.assignment.benchmark;
+
+import nl.gerimedica.assignment.dto.AppointmentDTO;
+import nl.gerimedica.assignment.entity.Appointment;
+import nl.gerimedica.assignment.entity.Patient;
+import nl.gerimedica.assignment.repository.AppointmentRepository;
+import nl.gerimedica.assignment.repository.PatientRepository;
+import nl.gerimedica.assignment.service.HospitalService;
+import nl.gerimedica.assignment.validation.IsoDateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HospitalService.bulkCreateAppointments per request size.
+ * Every invocation books new dates, an invocation repeating the previous one would only measure skipped duplicates.
+ * The entity path benchmark is the pre-batch-writer write path (appointments persisted through JPA), kept as baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BulkCreateBenchmark {
+
+    private static final String SSN = "321-54-9876";
+
+    @Param({"10", "1000", "10000", "100000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+    private HospitalService hospitalService;
+    private AppointmentRepository appointmentRepository;
+    private PatientRepository patientRepository;
+    private TransactionTemplate transaction;
+    private List<String> reasons;
+    private List<String> dates;
+    private LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        hospitalService = context.getBean(HospitalService.class);
+        appointmentRepository = context.getBean(AppointmentRepository.class);
+        patientRepository = context.getBean(PatientRepository.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        reasons = Collections.nCopies(size, "Benchmark");
+
+        // The entity path expects the patient to exist, as it does for every invocation of the service after the first
+        hospitalService.bulkCreateAppointments("Benchmark Patient", SSN, List.of("Benchmark"),
+                List.of(start.minusDays(1).format(DateTimeFormatter.ISO_DATE_TIME)));
+    }
+
+    @Setup(Level.Invocation)
+    public void nextDates() {
+        dates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            dates.add(start.plusMinutes(i).format(DateTimeFormatter.ISO_DATE_TIME));
+        }
+        start = start.plusMinutes(size);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearAppointments() {
+        appointmentRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> bulkCreateAppointments() {
+        return hospitalService.bulkCreateAppointments("Benchmark Patient", SSN, reasons, dates);
+    }
+
+    @Benchmark
+    public List<Appointment> bulkCreateAppointmentsEntityPath() {
+        return transaction.execute(status -> {
+            Patient patient = patientRepository.loadBySsn(SSN).orElseThrow();
+            List<Appointment> appointments = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                appointments.add(new Appointment(reasons.get(i), IsoDateTime.parse(dates.get(i)), patient));
+            }
+            appointmentRepository.saveAll(appointments);
+            appointmentRepository.flush();
+            return appointments;
+        });
+    }
+}
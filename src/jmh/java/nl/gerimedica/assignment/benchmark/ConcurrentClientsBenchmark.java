@@ -0,0 +1,114 @@
+package nl.gerimedica.assignment.benchmark;
+
+import nl.gerimedica.assignment.service.HospitalService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the service layer with 50/500/5000 concurrent clients sharing the 10-connection pool.
+ * Every benchmark operation is one round in which all clients run a reason search at the same time.
+ * - platform: 200 platform threads, Tomcat's default maximum
+ * - virtual: a virtual thread per client, connections queue inside Hikari
+ * - virtual-bulkhead: a virtual thread per client, connections queue on the DataSource bulkhead
+ * The {@code requests} and {@code failures} secondary results are per-second rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConcurrentClientsBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final int REASONS = 50;
+
+    @Param({"50", "500", "5000"})
+    private int clients;
+
+    @Param({"platform", "virtual", "virtual-bulkhead"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private HospitalService hospitalService;
+    private ExecutorService executor;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long requests;
+        public long failures;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+            failures = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of(
+                "hospital.bulkhead.enabled", "virtual-bulkhead".equals(mode),
+                "spring.datasource.hikari.maximum-pool-size", 10));
+        hospitalService = context.getBean(HospitalService.class);
+        executor = "platform".equals(mode)
+                ? Executors.newFixedThreadPool(200)
+                : Executors.newVirtualThreadPerTaskExecutor();
+
+        List<String> reasons = new ArrayList<>(ROWS);
+        List<String> dates = new ArrayList<>(ROWS);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < ROWS; i++) {
+            reasons.add("Reason " + (i % REASONS));
+            dates.add(start.plusMinutes(i).format(DateTimeFormatter.ISO_DATE_TIME));
+        }
+        hospitalService.bulkCreateAppointments("Benchmark Patient", "321-54-9878", reasons, dates);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public void round(Outcomes outcomes) throws InterruptedException {
+        List<Future<Integer>> results = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            String reason = "reason " + (i % REASONS);
+            results.add(executor.submit(() -> hospitalService.getAppointmentsByReason(reason).size()));
+        }
+
+        for (Future<Integer> result : results) {
+            try {
+                result.get();
+                outcomes.requests++;
+            } catch (ExecutionException e) {
+                outcomes.failures++;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package nl.gerimedica.assignment.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the ISO appointment dates accepted by the bulk and import endpoints, per 1,000 dates
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DateParsingBenchmark {
+
+    private static final int DATES = 1_000;
+
+    private String[] dates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dates = new String[DATES];
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < DATES; i++) {
+            dates[i] = start.plusMinutes(i * 7L).format(DateTimeFormatter.ISO_DATE_TIME);
+        }
+    }
+
+    /**
+     * The formatter used by HospitalService and AppointmentImportService
+     */
+    @Benchmark
+    public void isoDateTime(Blackhole blackhole) {
+        for (String date : dates) {
+            blackhole.consume(LocalDateTime.parse(date, DateTimeFormatter.ISO_DATE_TIME));
+        }
+    }
+
+    @Benchmark
+    public void isoLocalDateTime(Blackhole blackhole) {
+        for (String date : dates) {
+            blackhole.consume(LocalDateTime.parse(date, DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package nl.gerimedica.assignment.benchmark;
+
+import nl.gerimedica.assignment.dto.AppointmentDTO;
+import nl.gerimedica.assignment.entity.Appointment;
+import nl.gerimedica.assignment.entity.Patient;
+import nl.gerimedica.assignment.mappers.AppointmentMapper;
+import nl.gerimedica.assignment.mappers.AppointmentMapperImpl;
+import nl.gerimedica.assignment.mappers.PatientDtoContext;
+import nl.gerimedica.assignment.mappers.PatientMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AppointmentMapper.toDto over large lists of entities; only the two mappers are wired, no database involved
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MappingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private AppointmentMapper appointmentMapper;
+    private List<Appointment> appointments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(AppointmentMapperImpl.class, PatientMapperImpl.class);
+        appointmentMapper = context.getBean(AppointmentMapper.class);
+
+        appointments = new ArrayList<>(size);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < size; i++) {
+            // A patient per 10 appointments, like a typical bulk request
+            Patient patient = new Patient("Patient " + i / 10, String.format("%03d-%02d-%04d", i / 10 % 1000, 11, i / 10 % 10_000));
+            appointments.add(new Appointment("Reason " + i % 100, start.plusMinutes(i), patient));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> toDtoList() {
+        return appointments.stream()
+                .map(appointmentMapper::toDto)
+                .toList();
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> toDtoListSharingPatients() {
+        var patients = new PatientDtoContext();
+        return appointments.stream()
+                .map(appointment -> appointmentMapper.toDto(appointment, patients))
+                .toList();
+    }
+}
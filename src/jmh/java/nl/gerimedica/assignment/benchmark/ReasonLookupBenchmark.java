@@ -0,0 +1,103 @@
+package nl.gerimedica.assignment.benchmark;
+
+import jakarta.persistence.EntityManager;
+import nl.gerimedica.assignment.dto.AppointmentDTO;
+import nl.gerimedica.assignment.entity.Appointment;
+import nl.gerimedica.assignment.mappers.AppointmentMapper;
+import nl.gerimedica.assignment.repository.AppointmentRepository;
+import nl.gerimedica.assignment.repository.AppointmentRow;
+import nl.gerimedica.assignment.service.HospitalService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reason searches over 10,000 appointments with 100 distinct reasons.
+ * The entity path benchmark is the pre-projection read path (managed entities mapped by MapStruct), kept as baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReasonLookupBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int REASONS = 100;
+
+    private ConfigurableApplicationContext context;
+    private HospitalService hospitalService;
+    private AppointmentRepository appointmentRepository;
+    private AppointmentMapper appointmentMapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        hospitalService = context.getBean(HospitalService.class);
+        appointmentRepository = context.getBean(AppointmentRepository.class);
+        appointmentMapper = context.getBean(AppointmentMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        List<String> reasons = new ArrayList<>(ROWS);
+        List<String> dates = new ArrayList<>(ROWS);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < ROWS; i++) {
+            reasons.add("Reason " + (i % REASONS));
+            dates.add(start.plusMinutes(i).format(DateTimeFormatter.ISO_DATE_TIME));
+        }
+        hospitalService.bulkCreateAppointments("Benchmark Patient", "321-54-9877", reasons, dates);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> exactReason() {
+        return hospitalService.getAppointmentsByReason("reason 7");
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> containingReason() {
+        return hospitalService.getAppointmentsContainingReason("son 1");
+    }
+
+    @Benchmark
+    public List<AppointmentRow> exactReasonProjection() {
+        return readOnlyTransaction.execute(status -> appointmentRepository.findByReasonIn(List.of("Reason 7")));
+    }
+
+    @Benchmark
+    public List<AppointmentDTO> exactReasonEntityPath() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("SELECT a FROM Appointment a JOIN FETCH a.patient WHERE a.reason IN :reasons", Appointment.class)
+                .setParameter("reasons", List.of("Reason 7"))
+                .getResultList()
+                .stream()
+                .map(appointmentMapper::toDto)
+                .toList());
+    }
+}
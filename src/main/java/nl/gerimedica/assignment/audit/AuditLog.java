@@ -0,0 +1,186 @@
+package nl.gerimedica.assignment.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import nl.gerimedica.assignment.config.TransactionBound;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of appointment changes, written off the request path.
+ * - Request threads only put a record into a lock-free ring buffer and never block;
+ *   when the buffer is full the record is dropped and counted in {@code hospital.audit.dropped}
+ * - A single background thread drains the buffer in batches into a memory-mapped, size-rolled audit file
+ * - Inside a transaction, records are only handed over once it commits
+ * - SSNs are masked by the writer thread as records are formatted
+ */
+@Slf4j
+@Component
+public class AuditLog {
+
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final int batchSize;
+    private final AuditRingBuffer buffer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final TransactionBound<List<AuditRecord>> pending;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditLog(
+            MeterRegistry meterRegistry,
+            @Value("${hospital.audit.enabled:true}") boolean enabled,
+            @Value("${hospital.audit.directory:logs/audit}") Path directory,
+            @Value("${hospital.audit.segment-size:64MB}") DataSize segmentSize,
+            @Value("${hospital.audit.buffer-capacity:65536}") int bufferCapacity,
+            @Value("${hospital.audit.batch-size:1024}") int batchSize) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.batchSize = batchSize;
+        this.buffer = new AuditRingBuffer(bufferCapacity);
+        this.pending = new TransactionBound<List<AuditRecord>>(ArrayList::new)
+                .afterCommit(records -> records.forEach(this::publish));
+
+        Gauge.builder("hospital.audit.queue", buffer, AuditRingBuffer::size)
+                .description("Audit records waiting for the writer")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("hospital.audit.written")
+                .description("Audit records written to the audit file")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("hospital.audit.dropped")
+                .description("Audit records dropped because the buffer was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("hospital.audit.failed")
+                .description("Audit records lost because the audit file could not be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a created appointment
+     */
+    public void appointmentCreated(String ssn, String reason, LocalDateTime appointmentDate) {
+        offer(new AuditRecord(System.currentTimeMillis(), AuditRecord.Action.APPOINTMENT_CREATED,
+                ssn, reason, appointmentDate, 1));
+    }
+
+    /**
+     * Record the deletion of a patient's appointments
+     */
+    public void appointmentsDeleted(String ssn, long count) {
+        offer(new AuditRecord(System.currentTimeMillis(), AuditRecord.Action.APPOINTMENTS_DELETED,
+                ssn, null, null, count));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::writeLoop);
+    }
+
+    /**
+     * Lets the writer drain what is already buffered, then close the audit file
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void offer(AuditRecord record) {
+        if (!enabled) {
+            return;
+        }
+        List<AuditRecord> records = pending.get();
+        if (records != null) {
+            records.add(record);
+        } else {
+            publish(record);
+        }
+    }
+
+    private void publish(AuditRecord record) {
+        if (!buffer.offer(record)) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void writeLoop() {
+        try (var file = new MappedAuditFile(directory, segmentSize)) {
+            var line = new StringBuilder(256);
+            long idleParkNanos = 0;
+
+            while (running || buffer.size() > 0) {
+                int written = writeBatch(file, line);
+                if (written > 0) {
+                    idleParkNanos = 0;
+                } else {
+                    // Back off while idle, up to MAX_IDLE_PARK_NANOS between polls
+                    idleParkNanos = Math.min(MAX_IDLE_PARK_NANOS, Math.max(idleParkNanos * 2, 50_000));
+                    LockSupport.parkNanos(idleParkNanos);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Audit writer stopped, audit records are no longer written to {}", directory, e);
+            running = false;
+        }
+    }
+
+    private int writeBatch(MappedAuditFile file, StringBuilder line) {
+        int written = 0;
+        AuditRecord record;
+        while (written < batchSize && (record = buffer.poll()) != null) {
+            try {
+                file.append(format(record, line));
+                written++;
+            } catch (IOException e) {
+                failedCounter.increment();
+                log.warn("Failed to write audit record: {}", e.getMessage());
+            }
+        }
+        writtenCounter.increment(written);
+        return written;
+    }
+
+    private static byte[] format(AuditRecord record, StringBuilder line) {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(record.timestamp()))
+                .append(' ').append(record.action())
+                .append(" ssn=").append(SsnMasker.mask(record.ssn()))
+                .append(" count=").append(record.count());
+        if (record.reason() != null) {
+            line.append(" reason=\"").append(record.reason().replace("\"", "\\\"").replace("\n", "\\n")).append('"');
+        }
+        if (record.appointmentDate() != null) {
+            line.append(" date=").append(record.appointmentDate());
+        }
+        return line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,27 @@
+package nl.gerimedica.assignment.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One audit entry as handed from a request thread to the audit writer.
+ * Fields are stored raw and only formatted, and the SSN masked, on the writer thread.
+ *
+ * @param timestamp       Epoch milliseconds at which the change happened
+ * @param reason          Appointment reason, null if not applicable
+ * @param appointmentDate Appointment date, null if not applicable
+ * @param count           Number of appointments affected
+ */
+public record AuditRecord(
+        long timestamp,
+        Action action,
+        String ssn,
+        String reason,
+        LocalDateTime appointmentDate,
+        long count
+) {
+
+    public enum Action {
+        APPOINTMENT_CREATED,
+        APPOINTMENTS_DELETED
+    }
+}
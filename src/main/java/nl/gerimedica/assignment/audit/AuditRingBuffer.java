@@ -0,0 +1,82 @@
+package nl.gerimedica.assignment.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer.
+ * - Producers claim a slot with one CAS on the tail and publish it by advancing the slot's sequence
+ * - {@link #offer} never waits: it returns false when the buffer is full
+ * - Only the audit writer thread may call {@link #poll}
+ */
+final class AuditRingBuffer {
+
+    private final AuditRecord[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit buffer capacity must be a power of two: " + capacity);
+        }
+        this.slots = new AuditRecord[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false if the buffer is full and the record was not added
+     */
+    boolean offer(AuditRecord record) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long available = sequences.get(index) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = record;
+                    // The volatile write publishes the slot to the consumer
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (available < 0) {
+                // The slot still holds a record from one lap ago
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return The oldest published record, or null if there is none
+     */
+    AuditRecord poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+
+        AuditRecord record = slots[index];
+        slots[index] = null;
+        // Hand the slot to the producer one lap ahead
+        sequences.set(index, position + slots.length);
+        head = position + 1;
+        return record;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,80 @@
+package nl.gerimedica.assignment.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Append-only audit file made of memory-mapped segments of a fixed size.
+ * - Appends are plain memory copies into the mapped segment; the page cache writes them out
+ * - When a record does not fit, the segment is forced to disk, truncated to its content and a new one is started
+ * - Segments are named audit-yyyyMMdd-HHmmss-NNNN.log and never reopened
+ * Not thread-safe, only used by the audit writer thread.
+ */
+final class MappedAuditFile implements AutoCloseable {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final int segmentSize;
+    private int segments;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+
+    MappedAuditFile(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+    }
+
+    void append(byte[] line) throws IOException {
+        if (segment == null || segment.remaining() < line.length) {
+            rollover();
+        }
+        if (line.length > segment.remaining()) {
+            throw new IOException("Audit record of " + line.length + " bytes exceeds the segment size");
+        }
+        segment.put(line);
+    }
+
+    int segments() {
+        return segments;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+
+        int written = segment.position();
+        segment.force();
+        segment = null;
+        channel.truncate(written);
+        channel.close();
+        channel = null;
+    }
+
+    private void rollover() throws IOException {
+        close();
+
+        String timestamp = LocalDateTime.now(ZoneOffset.UTC).format(FILE_TIMESTAMP);
+        while (channel == null) {
+            Path file = directory.resolve(String.format("audit-%s-%04d.log", timestamp, ++segments));
+            try {
+                channel = FileChannel.open(file,
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (FileAlreadyExistsException e) {
+                // Left by an earlier run started within the same second
+            }
+        }
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+}
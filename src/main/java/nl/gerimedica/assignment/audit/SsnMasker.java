@@ -0,0 +1,24 @@
+package nl.gerimedica.assignment.audit;
+
+/**
+ * Masks SSNs for logs and audit files, keeping only the last four digits: 123-45-6789 becomes ***-**-6789
+ */
+public final class SsnMasker {
+
+    private SsnMasker() {
+    }
+
+    public static String mask(String ssn) {
+        if (ssn == null) {
+            return null;
+        }
+
+        var masked = new StringBuilder(ssn.length());
+        int keepFrom = ssn.length() - 4;
+        for (int i = 0; i < ssn.length(); i++) {
+            char c = ssn.charAt(i);
+            masked.append(i < keepFrom && Character.isLetterOrDigit(c) ? '*' : c);
+        }
+        return masked.toString();
+    }
+}
@@ -1,17 +1,29 @@
 package nl.gerimedica.assignment.config;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import io.micrometer.prometheus.PrometheusConfig;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.function.ToDoubleFunction;
 
 @Configuration
 @EnableAspectJAutoProxy
+@EnableScheduling
 public class AppConfig {
 
     /**
@@ -34,4 +46,55 @@ public class AppConfig {
                 .commonTags("application", applicationName);
     }
 
+    /**
+     * Records {@code @Timed} methods, such as every HospitalService method, as timers
+     */
+    @Bean
+    TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Replaces Boot's Jackson converter to time response serialization per endpoint
+     */
+    @Bean
+    MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            ObjectMapper objectMapper,
+            EndpointLayerTimers endpointLayerTimers) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, endpointLayerTimers);
+    }
+
+    /**
+     * Exports Hibernate session factory statistics as counters; requires hibernate.generate_statistics
+     */
+    @Bean
+    MeterBinder hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            hibernateCounter(registry, statistics, "hospital.hibernate.statements",
+                    "JDBC statements prepared", Statistics::getPrepareStatementCount);
+            hibernateCounter(registry, statistics, "hospital.hibernate.queries",
+                    "HQL and SQL queries executed", Statistics::getQueryExecutionCount);
+            hibernateCounter(registry, statistics, "hospital.hibernate.entities.loaded",
+                    "Entities loaded from the database", Statistics::getEntityLoadCount);
+            hibernateCounter(registry, statistics, "hospital.hibernate.entities.fetched",
+                    "Entities fetched lazily by a separate statement", Statistics::getEntityFetchCount);
+            hibernateCounter(registry, statistics, "hospital.hibernate.entities.inserted",
+                    "Entities inserted", Statistics::getEntityInsertCount);
+            hibernateCounter(registry, statistics, "hospital.hibernate.collections.loaded",
+                    "Collections loaded", Statistics::getCollectionLoadCount);
+            hibernateCounter(registry, statistics, "hospital.hibernate.flushes",
+                    "Session flushes", Statistics::getFlushCount);
+            hibernateCounter(registry, statistics, "hospital.hibernate.transactions",
+                    "Transactions completed", Statistics::getTransactionCount);
+        };
+    }
+
+    private static void hibernateCounter(MeterRegistry registry, Statistics statistics, String name,
+                                         String description, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, count)
+                .description(description)
+                .register(registry);
+    }
+
 }
@@ -0,0 +1,49 @@
+package nl.gerimedica.assignment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Wraps the connection pool in a {@link BulkheadDataSource} sized to the pool.
+ * With virtual threads serving requests, thousands of requests can ask for a connection at once;
+ * the bulkhead makes them wait cheaply and for a bounded time instead of blocking inside Hikari.
+ * Every pool gets its own bulkhead, including the replica pool of {@link ReplicaRoutingConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hospital.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * Static so it is registered before the DataSource is created
+     */
+    @Bean
+    static BeanPostProcessor bulkheadDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+
+                // An unset pool size is only resolved to Hikari's default when the pool starts
+                int poolSize = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+                int permits = environment.getProperty("hospital.bulkhead.permits", Integer.class, poolSize);
+                Duration maxWait = environment.getProperty("hospital.bulkhead.max-wait", Duration.class, Duration.ofSeconds(2));
+                String poolName = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+                return new BulkheadDataSource(pool, poolName, permits, maxWait, meterRegistry.getObject());
+            }
+        };
+    }
+}
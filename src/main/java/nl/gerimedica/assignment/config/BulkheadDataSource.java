@@ -0,0 +1,124 @@
+package nl.gerimedica.assignment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource bulkhead: at most {@code permits} connections are handed out at a time.
+ * - Excess callers (typically virtual threads) park on a fair semaphore instead of queueing inside the pool
+ * - Waiting is bounded by {@code maxWait}, after which the caller gets an SQLTransientConnectionException,
+ *   the same type the pool throws on timeout
+ * - The permit is released when the connection is closed, i.e. returned to the pool
+ * - Meters are tagged with the pool name, so a primary and a replica pool are told apart
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final Timer waitTimer;
+    private final Counter rejectedCounter;
+
+    public BulkheadDataSource(DataSource target, String pool, int permits, Duration maxWait, MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.maxWaitNanos = maxWait.toNanos();
+
+        Gauge.builder("hospital.db.bulkhead.queue", this.permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database connection permit")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("hospital.db.bulkhead.available", this.permits, Semaphore::availablePermits)
+                .description("Database connection permits currently available")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("hospital.db.bulkhead.wait")
+                .description("Time spent waiting for a database connection permit")
+                .tag("pool", pool)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("hospital.db.bulkhead.rejected")
+                .description("Connection requests rejected after waiting the maximum time for a permit")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            rejectedCounter.increment();
+            throw new SQLTransientConnectionException("No database connection permit available within "
+                    + Duration.ofNanos(maxWaitNanos).toMillis() + " ms");
+        }
+    }
+
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            // Closing twice must not hand out an extra permit
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
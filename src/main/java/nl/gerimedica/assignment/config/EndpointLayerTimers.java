@@ -0,0 +1,83 @@
+package nl.gerimedica.assignment.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the time a request spends in each layer as the {@code hospital.endpoint.layer} timer,
+ * tagged with the endpoint's URI pattern and the layer.
+ * - Only the outermost call per layer is timed, so a cached lookup that falls through to its repository counts once
+ * - Work outside a request, such as the bulk job drainer, is tagged {@code endpoint=background}
+ */
+@Component
+public class EndpointLayerTimers {
+
+    public enum Layer {
+        REPOSITORY,
+        MAPPING,
+        SERIALIZATION
+    }
+
+    /**
+     * A call that may throw a checked exception
+     */
+    @FunctionalInterface
+    public interface Invocation<T, E extends Throwable> {
+        T proceed() throws E;
+    }
+
+    private record Key(String endpoint, Layer layer) {}
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Timer> timers = new ConcurrentHashMap<>();
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[Layer.values().length]);
+
+    public EndpointLayerTimers(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T, E extends Throwable> T record(Layer layer, Invocation<T, E> invocation) throws E {
+        int[] active = depth.get();
+        if (active[layer.ordinal()]++ > 0) {
+            try {
+                return invocation.proceed();
+            } finally {
+                active[layer.ordinal()]--;
+            }
+        }
+
+        long started = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            active[layer.ordinal()]--;
+            timer(layer).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Layer layer) {
+        return timers.computeIfAbsent(new Key(currentEndpoint(), layer), key -> Timer.builder("hospital.endpoint.layer")
+                .description("Time spent per endpoint in the repository, mapping and serialization layers")
+                .tags("endpoint", key.endpoint(), "layer", key.layer().name().toLowerCase())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return "background";
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : "unknown";
+    }
+}
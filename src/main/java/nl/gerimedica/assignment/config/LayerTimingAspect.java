@@ -0,0 +1,31 @@
+package nl.gerimedica.assignment.config;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the repository and mapping layers through {@link EndpointLayerTimers}.
+ * - Repository: Spring Data repositories and the {@code @Repository} classes of the repository package
+ * - Mapping: the MapStruct mappers
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class LayerTimingAspect {
+
+    private final EndpointLayerTimers endpointLayerTimers;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) || " +
+            "(within(nl.gerimedica.assignment.repository..*) && @within(org.springframework.stereotype.Repository))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return endpointLayerTimers.record(EndpointLayerTimers.Layer.REPOSITORY, joinPoint::proceed);
+    }
+
+    @Around("within(nl.gerimedica.assignment.mappers..*)")
+    public Object timeMapping(ProceedingJoinPoint joinPoint) throws Throwable {
+        return endpointLayerTimers.record(EndpointLayerTimers.Layer.MAPPING, joinPoint::proceed);
+    }
+}
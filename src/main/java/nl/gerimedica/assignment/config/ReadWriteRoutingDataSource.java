@@ -0,0 +1,65 @@
+package nl.gerimedica.assignment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to the replica pool and everything else to the primary.
+ * Read-only transactions still use the primary when pinned by {@link ReplicaRouting} or while
+ * {@link ReplicaLagMonitor} considers the replica unusable.
+ * Must sit behind a LazyConnectionDataSourceProxy: the connection is only requested at the first statement,
+ * once the transaction's read-only flag is known.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter pinnedReads;
+    private final Counter lagFallbackReads;
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                               MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+        this.writes = routedCounter(meterRegistry, Target.PRIMARY, "read-write");
+        this.replicaReads = routedCounter(meterRegistry, Target.REPLICA, "read-only");
+        this.pinnedReads = routedCounter(meterRegistry, Target.PRIMARY, "read-your-writes");
+        this.lagFallbackReads = routedCounter(meterRegistry, Target.PRIMARY, "replica-unusable");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return Target.PRIMARY;
+        }
+        if (ReplicaRouting.isPinnedToPrimary()) {
+            pinnedReads.increment();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            lagFallbackReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, Target target, String reason) {
+        return Counter.builder("hospital.db.routing")
+                .description("Connections handed out per pool and routing reason")
+                .tag("pool", target.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
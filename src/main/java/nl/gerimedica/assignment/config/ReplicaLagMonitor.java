@@ -0,0 +1,71 @@
+package nl.gerimedica.assignment.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Polls the replica's replication lag on {@code hospital.replica.lag-check-interval}.
+ * - A replica that is caught up, or not a standby at all, has no lag
+ * - Above {@code hospital.replica.max-lag}, or when the replica cannot be reached,
+ *   read-only transactions fall back to the primary until a later check succeeds
+ */
+@Slf4j
+public final class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replica;
+    private final double maxLagSeconds;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+        Gauge.builder("hospital.db.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the replica in seconds, NaN while it cannot be reached")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("hospital.db.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica, 0 while they fall back to the primary")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${hospital.replica.lag-check-interval:1000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag == null ? 0 : lag;
+            usable = lagSeconds <= maxLagSeconds;
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica cannot be reached, routing reads to the primary: {}", e.getMessage());
+            }
+            return;
+        }
+
+        if (wasUsable != usable) {
+            log.info("Replica lag is {} s, routing reads to the {}", lagSeconds, usable ? "replica" : "primary");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package nl.gerimedica.assignment.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Read-your-writes for replica routing.
+ * - Services record the SSNs they write; for {@code hospital.replica.read-your-writes-window} after the commit,
+ *   read-only transactions about such an SSN are pinned to the primary instead of a possibly lagging replica
+ * - Pinning must happen before the transaction's first statement, the moment its connection is chosen
+ * - Does nothing unless {@code hospital.replica.enabled} is set
+ */
+@Component
+public class ReplicaRouting {
+
+    private static final TransactionBound<Boolean> PRIMARY_PIN = new TransactionBound<>(() -> Boolean.TRUE);
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWrites;
+    private final Counter pinnedCounter;
+
+    public ReplicaRouting(
+            MeterRegistry meterRegistry,
+            @Value("${hospital.replica.enabled:false}") boolean enabled,
+            @Value("${hospital.replica.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+        this.enabled = enabled;
+        this.recentWrites = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        this.pinnedCounter = Counter.builder("hospital.db.routing.pinned")
+                .description("Read-only transactions sent to the primary because their SSN was written recently")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Remember that the patient with this SSN was written; inside a transaction, the window starts at its commit
+     */
+    public void recordWrite(String ssn) {
+        if (!enabled) {
+            return;
+        }
+
+        // Also pinned while the transaction runs, its data may become visible on the primary before afterCommit
+        recentWrites.put(ssn, Boolean.TRUE);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWrites.put(ssn, Boolean.TRUE);
+                }
+            });
+        }
+    }
+
+    /**
+     * Pin the current transaction to the primary if the SSN was written within the read-your-writes window
+     */
+    public void readYourWrites(String ssn) {
+        if (enabled && ssn != null && recentWrites.getIfPresent(ssn) != null) {
+            pinnedCounter.increment();
+            pinToPrimary();
+        }
+    }
+
+    /**
+     * Pin the current read-only transaction to the primary, for reads that must see the latest committed state
+     */
+    public void pinToPrimary() {
+        if (enabled) {
+            PRIMARY_PIN.get();
+        }
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PRIMARY_PIN.peek() != null;
+    }
+}
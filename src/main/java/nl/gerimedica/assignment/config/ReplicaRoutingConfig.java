@@ -0,0 +1,80 @@
+package nl.gerimedica.assignment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits the database access over a primary and a read replica pool when {@code hospital.replica.enabled} is set.
+ * - The primary pool is configured as usual under {@code spring.datasource}
+ * - The replica pool connects to {@code hospital.replica.url}, tuned under {@code hospital.replica.hikari},
+ *   and defaults to the primary's credentials
+ * - The application DataSource routes read-only transactions to the replica, see {@link ReadWriteRoutingDataSource}
+ * Both pools are wrapped in their own bulkhead and export the standard per-pool hikaricp metrics.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hospital.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("hospital.replica.hikari")
+    HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${hospital.replica.url}") String url,
+            @Value("${hospital.replica.username:${spring.datasource.username}}") String username,
+            @Value("${hospital.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${hospital.replica.max-lag:2s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, maxLag, meterRegistry);
+    }
+
+    /**
+     * The DataSource used by JPA, JdbcTemplate and Liquibase
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor lagMonitor,
+            MeterRegistry meterRegistry) {
+        var routing = new ReadWriteRoutingDataSource(primary, replica, lagMonitor, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,66 @@
+package nl.gerimedica.assignment.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import nl.gerimedica.assignment.entity.CacheRegions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed JCache regions for the Hibernate second-level cache, see {@link CacheRegions}.
+ * - Entity and natural-ID regions hold up to {@code hospital.l2-cache.maximum-size} entries,
+ *   collection regions up to {@code collection-maximum-size}; all expire after {@code ttl}
+ * - Each application context gets its own cache manager, so test contexts never share entries
+ * - Regions export hit/miss/put/eviction metrics as {@code cache.*}, tagged by region name
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(
+            @Value("${hospital.l2-cache.maximum-size:10000}") long maximumSize,
+            @Value("${hospital.l2-cache.collection-maximum-size:2000}") long collectionMaximumSize,
+            @Value("${hospital.l2-cache.ttl:10m}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        CacheRegions.ENTITY_REGIONS.forEach(region ->
+                cacheManager.createCache(region, regionConfiguration(maximumSize, ttl)));
+        CacheRegions.COLLECTION_REGIONS.forEach(region ->
+                cacheManager.createCache(region, regionConfiguration(collectionMaximumSize, ttl)));
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate's JCache region factory
+     */
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> hibernateCacheManager.getCacheNames().forEach(region ->
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region)));
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maximumSize, Duration ttl) {
+        var configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,30 @@
+package nl.gerimedica.assignment.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that records the time spent serializing response bodies as the serialization layer.
+ * Bodies are written to the buffered response stream, so large responses also include part of the network write.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final EndpointLayerTimers endpointLayerTimers;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, EndpointLayerTimers endpointLayerTimers) {
+        super(objectMapper);
+        this.endpointLayerTimers = endpointLayerTimers;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        endpointLayerTimers.record(EndpointLayerTimers.Layer.SERIALIZATION, () -> {
+            super.writeInternal(object, type, outputMessage);
+            return null;
+        });
+    }
+}
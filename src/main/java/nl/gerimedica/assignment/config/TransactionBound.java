@@ -0,0 +1,91 @@
+package nl.gerimedica.assignment.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A value bound to the current transaction, typically the changes it has pending.
+ * - Created on the first {@link #get()} of a transaction and unbound when the transaction completes
+ * - The callbacks receive the value before commit, after commit and after completion, whatever the outcome
+ * - Without transaction synchronization there is nothing to bind to: {@link #get()} returns null and callers
+ *   apply their change right away
+ * <p>
+ * The instance itself is the resource key, so each owner holds its own, configured once when the owner is created.
+ */
+public final class TransactionBound<T> {
+
+    private final Supplier<T> factory;
+    private Consumer<T> beforeCommit = value -> {};
+    private Consumer<T> afterCommit = value -> {};
+    private Consumer<T> afterCompletion = value -> {};
+
+    public TransactionBound(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Run when the transaction is about to commit, still inside it
+     */
+    public TransactionBound<T> beforeCommit(Consumer<T> action) {
+        this.beforeCommit = action;
+        return this;
+    }
+
+    /**
+     * Run once the transaction has committed
+     */
+    public TransactionBound<T> afterCommit(Consumer<T> action) {
+        this.afterCommit = action;
+        return this;
+    }
+
+    /**
+     * Run after commit or rollback, once the value is unbound
+     */
+    public TransactionBound<T> afterCompletion(Consumer<T> action) {
+        this.afterCompletion = action;
+        return this;
+    }
+
+    /**
+     * @return The value of the current transaction, created if it has none yet; null outside a transaction
+     */
+    public T get() {
+        T value = peek();
+        if (value != null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return value;
+        }
+
+        T created = factory.get();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                beforeCommit.accept(created);
+            }
+
+            @Override
+            public void afterCommit() {
+                afterCommit.accept(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TransactionBound.this);
+                afterCompletion.accept(created);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * @return The value of the current transaction, null if it has none
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return (T) TransactionSynchronizationManager.getResource(this);
+    }
+}
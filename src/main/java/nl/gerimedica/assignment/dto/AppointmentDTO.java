@@ -9,4 +9,11 @@ public record AppointmentDTO(
         @NotBlank(message = "Reason is required") String reason,
         @NotNull(message = "Appointment date is required") LocalDateTime appointmentDate,
         PatientDTO patient
-) {}
+) {
+    /**
+     * Flat constructor for JPQL constructor expressions, which cannot nest {@code new}
+     */
+    public AppointmentDTO(String reason, LocalDateTime appointmentDate, String patientName, String patientSsn) {
+        this(reason, appointmentDate, new PatientDTO(patientName, patientSsn));
+    }
+}
@@ -0,0 +1,11 @@
+package nl.gerimedica.assignment.dto;
+
+/**
+ * One appointment line of a streaming import (NDJSON object or CSV row)
+ */
+public record AppointmentImportLine(
+        String patientName,
+        String ssn,
+        String reason,
+        String date
+) {}
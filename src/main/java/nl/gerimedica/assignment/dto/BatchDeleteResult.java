@@ -0,0 +1,18 @@
+package nl.gerimedica.assignment.dto;
+
+import java.util.List;
+
+/**
+ * BatchDeleteResult - Summary of deleting the appointments of many patients
+ *
+ * @param ssnsRequested Number of distinct SSNs in the request
+ * @param patientsFound Number of SSNs that matched a patient
+ * @param deleted       Number of appointments deleted
+ * @param notFound      SSNs without a patient
+ */
+public record BatchDeleteResult(
+        int ssnsRequested,
+        int patientsFound,
+        long deleted,
+        List<String> notFound
+) {}
@@ -0,0 +1,11 @@
+package nl.gerimedica.assignment.dto;
+
+/**
+ * BulkItemError - Error for a single appointment of an asynchronous bulk request
+ *
+ * @param index Zero-based position of the appointment in the request's reasons and dates
+ */
+public record BulkItemError(
+        int index,
+        String message
+) {}
@@ -0,0 +1,27 @@
+package nl.gerimedica.assignment.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * BulkJobStatus - Progress of an asynchronous bulk appointment request
+ *
+ * @param status   QUEUED until processed, then COMPLETED, or FAILED if the database rejected the whole request
+ * @param items    Number of appointments in the request
+ * @param created  Number of appointments created
+ * @param skipped  Number of appointments the patient already had, left as they were
+ * @param failed   Number of appointments rejected, detailed in failures
+ * @param error    Reason the whole request failed, null otherwise
+ */
+public record BulkJobStatus(
+        long jobId,
+        String status,
+        int items,
+        int created,
+        int skipped,
+        int failed,
+        List<BulkItemError> failures,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime completedAt
+) {}
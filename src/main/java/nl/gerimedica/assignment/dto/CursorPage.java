@@ -0,0 +1,13 @@
+package nl.gerimedica.assignment.dto;
+
+import java.util.List;
+
+/**
+ * CursorPage - One page of a keyset-paginated result
+ *
+ * @param nextCursor Opaque cursor for the following page, null on the last page
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {}
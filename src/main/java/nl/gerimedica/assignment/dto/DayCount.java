@@ -0,0 +1,11 @@
+package nl.gerimedica.assignment.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DayCount - Number of appointments on a day
+ */
+public record DayCount(
+        LocalDate day,
+        long count
+) {}
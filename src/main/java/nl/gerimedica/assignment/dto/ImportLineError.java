@@ -0,0 +1,9 @@
+package nl.gerimedica.assignment.dto;
+
+/**
+ * ImportLineError - Error for a single line of a streaming import
+ */
+public record ImportLineError(
+        long line,
+        String message
+) {}
@@ -0,0 +1,18 @@
+package nl.gerimedica.assignment.dto;
+
+import java.util.List;
+
+/**
+ * ImportResult - Summary of a streaming appointment import
+ *
+ * @param errors          First reported line errors, capped by hospital.import.max-reported-errors
+ * @param errorsTruncated True if more lines failed than are listed in errors
+ */
+public record ImportResult(
+        long linesRead,
+        long imported,
+        long failed,
+        int chunks,
+        List<ImportLineError> errors,
+        boolean errorsTruncated
+) {}
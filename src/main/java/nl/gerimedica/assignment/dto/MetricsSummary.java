@@ -0,0 +1,12 @@
+package nl.gerimedica.assignment.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MetricsSummary - Hospital counters, summed over their tags, and timers, one per tag combination
+ */
+public record MetricsSummary(
+        Map<String, Double> counters,
+        List<TimerSummary> timers
+) {}
@@ -0,0 +1,26 @@
+package nl.gerimedica.assignment.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * NormalizedAppointments - Appointments with every patient listed once, requested with {@code normalized=true}
+ *
+ * @param patients     Distinct patients, in order of first appearance
+ * @param appointments Appointments referencing their patient by index into {@code patients}
+ * @param nextCursor   Opaque cursor for the following page, null on the last page and for unpaged results
+ */
+public record NormalizedAppointments(
+        List<PatientDTO> patients,
+        List<AppointmentRef> appointments,
+        String nextCursor
+) {
+    /**
+     * @param patient Index of the patient in {@link NormalizedAppointments#patients()}
+     */
+    public record AppointmentRef(
+            String reason,
+            LocalDateTime appointmentDate,
+            int patient
+    ) {}
+}
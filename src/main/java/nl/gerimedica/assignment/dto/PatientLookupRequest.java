@@ -0,0 +1,10 @@
+package nl.gerimedica.assignment.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record PatientLookupRequest(
+        @NotEmpty(message = "At least one SSN is required") List<@NotBlank(message = "SSN is required") String> ssns
+) {}
@@ -0,0 +1,14 @@
+package nl.gerimedica.assignment.dto;
+
+import java.util.List;
+
+/**
+ * PatientLookupResult - Patients and their latest appointments for many SSNs
+ *
+ * @param patients Patients found, in the order of the requested SSNs
+ * @param notFound SSNs without a patient
+ */
+public record PatientLookupResult(
+        List<PatientSummary> patients,
+        List<String> notFound
+) {}
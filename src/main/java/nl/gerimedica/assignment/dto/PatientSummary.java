@@ -0,0 +1,12 @@
+package nl.gerimedica.assignment.dto;
+
+/**
+ * PatientSummary - A patient with its latest appointment
+ *
+ * @param latestAppointment Latest appointment, null if the patient has none
+ */
+public record PatientSummary(
+        String name,
+        String ssn,
+        AppointmentDTO latestAppointment
+) {}
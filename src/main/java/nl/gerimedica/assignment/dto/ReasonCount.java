@@ -0,0 +1,9 @@
+package nl.gerimedica.assignment.dto;
+
+/**
+ * ReasonCount - Number of appointments with a reason
+ */
+public record ReasonCount(
+        String reason,
+        long count
+) {}
@@ -0,0 +1,12 @@
+package nl.gerimedica.assignment.dto;
+
+import java.time.YearMonth;
+
+/**
+ * ReasonMonthCount - Number of appointments with a reason in a month
+ */
+public record ReasonMonthCount(
+        String reason,
+        YearMonth month,
+        long count
+) {}
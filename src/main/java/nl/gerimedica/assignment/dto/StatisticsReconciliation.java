@@ -0,0 +1,16 @@
+package nl.gerimedica.assignment.dto;
+
+/**
+ * StatisticsReconciliation - Outcome of checking the appointment count rollups against the appointments
+ *
+ * @param reasonMismatches      Per-reason counts that differed
+ * @param dayMismatches         Per-day counts that differed
+ * @param reasonMonthMismatches Per-reason-and-month counts that differed
+ * @param rebuilt               Whether the rollups were rebuilt from the appointments
+ */
+public record StatisticsReconciliation(
+        int reasonMismatches,
+        int dayMismatches,
+        int reasonMonthMismatches,
+        boolean rebuilt
+) {}
@@ -0,0 +1,19 @@
+package nl.gerimedica.assignment.dto;
+
+import java.util.Map;
+
+/**
+ * TimerSummary - Latency summary of one timer, in milliseconds
+ *
+ * @param tags        Tags identifying the timer, e.g. endpoint and layer
+ * @param percentiles Percentile ("0.5", "0.95", "0.99") to latency, if the timer publishes percentiles
+ */
+public record TimerSummary(
+        String name,
+        Map<String, String> tags,
+        long count,
+        double totalMs,
+        double meanMs,
+        double maxMs,
+        Map<String, Double> percentiles
+) {}
@@ -1,19 +1,27 @@
 package nl.gerimedica.assignment.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -23,30 +31,45 @@ import java.util.Objects;
  *
  * Key features:
  * - Stores appointment reason and date
+ * - Reason is persisted as an integer ID of the reasons dictionary
  * - Many-to-one relationship with Patient
+ * - Unique per patient, date and reason, so retried writes are skipped instead of duplicated
  * - Uses LocalDateTime for proper date/time handling
- * - JPA annotations for persistence
+ * - JPA annotations for persistence, with an optimistic-locking version
+ * - Pooled sequence IDs so inserts can be JDBC-batched
+ * - Writes keep the patient's latest-appointment pointer up to date
+ * - Writes keep the appointment count rollups up to date
+ * - Second-level cached, so a cached Patient.appointments collection resolves without a query per element
  * - Bean validation constraints for data integrity
  */
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", uniqueConstraints = @UniqueConstraint(
+        name = "uq_appointments_patient_date_reason", columnNames = {"patient_id", "appointment_date", "reason_id"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.APPOINTMENTS)
+@EntityListeners({LatestAppointmentListener.class, AppointmentStatisticsListener.class})
 @Getter
 @Setter
 @NoArgsConstructor
 public class Appointment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_id_generator")
+    @SequenceGenerator(name = "appointment_id_generator", sequenceName = "appointments_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Reason is required")
-    @Column(nullable = false)
+    @Convert(converter = ReasonConverter.class)
+    @Column(name = "reason_id", nullable = false)
     private String reason;
 
     @NotNull(message = "Appointment date is required")
     @Column(nullable = false)
     private LocalDateTime appointmentDate;
 
+    @Version
+    private long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
     private Patient patient;
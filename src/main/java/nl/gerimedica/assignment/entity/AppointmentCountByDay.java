@@ -0,0 +1,33 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * Rollup of the number of appointments per calendar day
+ *
+ * Key features:
+ * - One row per day with appointments, by the date part of the stored appointment date
+ * - Read-only for JPA: maintained by AppointmentStatisticsTracker in the transactions writing appointments
+ * - Counts can drop to zero, readers skip those rows
+ */
+@Entity
+@Table(name = "appointment_counts_by_day")
+@Immutable
+@Getter
+@NoArgsConstructor
+public class AppointmentCountByDay {
+
+    @Id
+    private LocalDate appointmentDay;
+
+    @Column(nullable = false)
+    private long appointmentCount;
+}
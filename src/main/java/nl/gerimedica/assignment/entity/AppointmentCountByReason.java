@@ -0,0 +1,32 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Rollup of the number of appointments per reason
+ *
+ * Key features:
+ * - One row per reason ID of the reasons dictionary
+ * - Read-only for JPA: maintained by AppointmentStatisticsTracker in the transactions writing appointments
+ * - Counts can drop to zero, readers skip those rows
+ */
+@Entity
+@Table(name = "appointment_counts_by_reason")
+@Immutable
+@Getter
+@NoArgsConstructor
+public class AppointmentCountByReason {
+
+    @Id
+    @Column(name = "reason_id")
+    private Integer reasonId;
+
+    @Column(nullable = false)
+    private long appointmentCount;
+}
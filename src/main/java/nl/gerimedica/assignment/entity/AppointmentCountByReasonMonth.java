@@ -0,0 +1,48 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Rollup of the number of appointments per reason and month
+ *
+ * Key features:
+ * - One row per reason ID and month, the month stored as its first day
+ * - Read-only for JPA: maintained by AppointmentStatisticsTracker in the transactions writing appointments
+ * - Counts can drop to zero, readers skip those rows
+ */
+@Entity
+@Table(name = "appointment_counts_by_reason_month")
+@IdClass(AppointmentCountByReasonMonth.Key.class)
+@Immutable
+@Getter
+@NoArgsConstructor
+public class AppointmentCountByReasonMonth {
+
+    @Id
+    @Column(name = "reason_id")
+    private Integer reasonId;
+
+    @Id
+    private LocalDate appointmentMonth;
+
+    @Column(nullable = false)
+    private long appointmentCount;
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Integer reasonId;
+        private LocalDate appointmentMonth;
+    }
+}
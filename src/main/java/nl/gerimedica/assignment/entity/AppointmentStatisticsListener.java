@@ -0,0 +1,26 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import nl.gerimedica.assignment.repository.AppointmentStatisticsTracker;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Reports appointments persisted or removed through JPA to the appointment count rollups.
+ */
+public class AppointmentStatisticsListener extends LazyBean<AppointmentStatisticsTracker> {
+
+    public AppointmentStatisticsListener(ObjectProvider<AppointmentStatisticsTracker> tracker) {
+        super(tracker);
+    }
+
+    @PrePersist
+    void persisted(Appointment appointment) {
+        bean().appointmentPersisted(appointment);
+    }
+
+    @PreRemove
+    void removed(Appointment appointment) {
+        bean().appointmentRemoved(appointment);
+    }
+}
@@ -0,0 +1,88 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a bulk appointment request accepted for asynchronous processing
+ *
+ * Key features:
+ * - Durable outbox entry: the request is stored as JSON and survives restarts until it is drained
+ * - Status moves from QUEUED to COMPLETED, or FAILED when the database rejected the whole request
+ * - Item counts and per-item failures are recorded when the job is processed; appointments the patient
+ *   already had are counted as skipped, not created
+ */
+@Entity
+@Table(name = "bulk_appointment_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class BulkAppointmentJob {
+
+    public enum Status {
+        QUEUED,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    /**
+     * The BulkAppointmentRequest as JSON
+     */
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private int itemCount;
+
+    @Column(nullable = false)
+    private int createdCount;
+
+    @Column(nullable = false)
+    private int skippedCount;
+
+    @Column(nullable = false)
+    private int failedCount;
+
+    /**
+     * Per-item failures as a JSON array of BulkItemError
+     */
+    @Column(columnDefinition = "text")
+    private String failures;
+
+    /**
+     * Reason the whole job failed
+     */
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    public BulkAppointmentJob(String payload, int itemCount, LocalDateTime createdAt) {
+        this.status = Status.QUEUED;
+        this.payload = payload;
+        this.itemCount = itemCount;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,21 @@
+package nl.gerimedica.assignment.entity;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions.
+ * Every region must be created up front by SecondLevelCacheConfig; Hibernate fails at startup on a missing one.
+ */
+public final class CacheRegions {
+
+    public static final String PATIENTS = "patients";
+    public static final String PATIENTS_BY_SSN = "patients-by-ssn";
+    public static final String PATIENT_APPOINTMENTS = "patients.appointments";
+    public static final String APPOINTMENTS = "appointments";
+
+    public static final List<String> ENTITY_REGIONS = List.of(PATIENTS, PATIENTS_BY_SSN, APPOINTMENTS);
+    public static final List<String> COLLECTION_REGIONS = List.of(PATIENT_APPOINTMENTS);
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,47 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the outcome of a bulk request sent with an Idempotency-Key header
+ *
+ * Key features:
+ * - The key is claimed in the transaction that creates the appointments, so both commit or neither does
+ * - A hash of the request detects a key reused for a different request
+ * - The response is stored as JSON and replayed to retries of the same request
+ * - Read and written with plain SQL by IdempotencyKeys; mapped so the schema is validated and created in tests
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    /**
+     * SHA-256 of the request, hex encoded
+     */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * The response data as JSON
+     */
+    @Column(columnDefinition = "text")
+    private String response;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
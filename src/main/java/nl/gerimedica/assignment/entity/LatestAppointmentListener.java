@@ -0,0 +1,28 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import nl.gerimedica.assignment.repository.LatestAppointmentTracker;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+
+/**
+ * Reports appointments persisted or removed through JPA to the latest-appointment pointer of their patient.
+ */
+public class LatestAppointmentListener extends LazyBean<LatestAppointmentTracker> {
+
+    public LatestAppointmentListener(ObjectProvider<LatestAppointmentTracker> tracker) {
+        super(tracker);
+    }
+
+    @PrePersist
+    void persisted(Appointment appointment) {
+        bean().appointmentPersisted(appointment);
+    }
+
+    @PreRemove
+    void removed(Appointment appointment) {
+        bean().appointmentsRemoved(List.of(appointment.getPatient().getId()));
+    }
+}
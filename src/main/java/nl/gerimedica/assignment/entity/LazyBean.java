@@ -0,0 +1,21 @@
+package nl.gerimedica.assignment.entity;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Base of the attribute converters and entity listeners that call into a Spring bean.
+ * Hibernate instantiates them through Spring's bean container while it builds the EntityManagerFactory,
+ * before the repositories they need exist, so the bean is looked up on first use instead of injected.
+ */
+abstract class LazyBean<T> {
+
+    private final ObjectProvider<T> provider;
+
+    protected LazyBean(ObjectProvider<T> provider) {
+        this.provider = provider;
+    }
+
+    protected T bean() {
+        return provider.getObject();
+    }
+}
@@ -1,20 +1,31 @@
 package nl.gerimedica.assignment.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import nl.gerimedica.assignment.validation.ValidSsn;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.OptimisticLock;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -23,31 +34,64 @@ import java.util.List;
  * Represents a patient in the hospital system
  *
  * Key features:
- * - Unique identification via SSN
+ * - Unique identification via SSN, mapped as natural ID and stored as a 9-digit integer
  * - Bidirectional relationship with appointments
  * - JPA annotations for persistence
+ * - Pooled sequence IDs so inserts can be JDBC-batched
+ * - Writes invalidate the SSN lookup cache
+ * - Denormalized pointer to the latest appointment
+ * - Version that changes with the patient and with its appointments, the source of its ETags
+ * - Second-level cached: the patient, its appointment collection and SSN lookups have their own regions
  * - Bean validation constraints for data integrity
  */
 @Entity
 @Table(name = "patients")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PATIENTS)
+@NaturalIdCache(region = CacheRegions.PATIENTS_BY_SSN)
+@EntityListeners(PatientCacheListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 public class Patient {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patient_id_generator")
+    @SequenceGenerator(name = "patient_id_generator", sequenceName = "patients_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Patient name is required")
     @Column(nullable = false)
     private String name;
 
+    @NaturalId
     @NotBlank(message = "SSN is required")
-    @Pattern(regexp = "^\\d{3}-\\d{2}-\\d{4}$", message = "SSN must be in format XXX-XX-XXXX")
+    @ValidSsn
+    @Convert(converter = SsnConverter.class)
     @Column(nullable = false, unique = true)
     private String ssn;
 
+    /**
+     * Pointer to the latest appointment, maintained by LatestAppointmentTracker; never written by Hibernate
+     */
+    @Column(name = "latest_appointment_id", insertable = false, updatable = false)
+    private Long latestAppointmentId;
+
+    @Column(name = "latest_appointment_date", insertable = false, updatable = false)
+    private LocalDateTime latestAppointmentDate;
+
+    /**
+     * Change version: incremented by Hibernate when the patient is updated, and by LatestAppointmentTracker
+     * whenever one of its appointments is written or removed
+     */
+    @Version
+    private long version;
+
+    /**
+     * Excluded from optimistic locking, so concurrent appointment writes for one patient do not conflict
+     */
+    @OptimisticLock(excluded = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PATIENT_APPOINTMENTS)
     @OneToMany(mappedBy = "patient", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Appointment> appointments = new ArrayList<>();
 
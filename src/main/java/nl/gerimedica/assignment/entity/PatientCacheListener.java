@@ -0,0 +1,24 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import nl.gerimedica.assignment.repository.PatientCache;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Invalidates the SSN cache entry of a patient whenever the patient row is written.
+ */
+public class PatientCacheListener extends LazyBean<PatientCache> {
+
+    public PatientCacheListener(ObjectProvider<PatientCache> patientCache) {
+        super(patientCache);
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void invalidate(Patient patient) {
+        bean().invalidate(patient.getSsn());
+    }
+}
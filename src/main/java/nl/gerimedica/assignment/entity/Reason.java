@@ -0,0 +1,52 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entry of the appointment reason dictionary
+ *
+ * Key features:
+ * - Each distinct reason text is stored once, appointments reference it by a small integer ID
+ * - Written and cached through ReasonDictionary, rarely inserted so IDENTITY generation is fine
+ * - JPA annotations for persistence
+ */
+@Entity
+@Table(name = "reasons")
+@Getter
+@Setter
+@NoArgsConstructor
+public class Reason {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @NotBlank(message = "Reason is required")
+    @Column(nullable = false, unique = true)
+    private String name;
+
+    public Reason(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Reason reason)) return false;
+        return id != null && id.equals(reason.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
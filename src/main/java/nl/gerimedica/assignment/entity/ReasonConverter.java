@@ -0,0 +1,27 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import nl.gerimedica.assignment.repository.ReasonDictionary;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Stores an appointment reason as its dictionary ID and reads it back as text.
+ */
+@Converter
+public class ReasonConverter extends LazyBean<ReasonDictionary> implements AttributeConverter<String, Integer> {
+
+    public ReasonConverter(ObjectProvider<ReasonDictionary> reasonDictionary) {
+        super(reasonDictionary);
+    }
+
+    @Override
+    public Integer convertToDatabaseColumn(String reason) {
+        return reason == null ? null : bean().idOf(reason);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer reasonId) {
+        return reasonId == null ? null : bean().nameOf(reasonId);
+    }
+}
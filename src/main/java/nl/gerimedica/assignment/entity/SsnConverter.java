@@ -0,0 +1,30 @@
+package nl.gerimedica.assignment.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import nl.gerimedica.assignment.validation.Ssn;
+
+/**
+ * Stores an SSN as its 9 digits in an integer column and reads it back in the XXX-XX-XXXX form.
+ * Also applied to query parameters compared with Patient.ssn, so lookups must only pass valid SSNs.
+ */
+@Converter
+public class SsnConverter implements AttributeConverter<String, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(String ssn) {
+        if (ssn == null) {
+            return null;
+        }
+        int value = Ssn.parse(ssn);
+        if (value < 0) {
+            throw new IllegalArgumentException(Ssn.FORMAT_MESSAGE);
+        }
+        return value;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer value) {
+        return value == null ? null : Ssn.format(value);
+    }
+}
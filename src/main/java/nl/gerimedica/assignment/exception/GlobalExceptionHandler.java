@@ -3,7 +3,11 @@ package nl.gerimedica.assignment.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import nl.gerimedica.assignment.dto.ApiResponse;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -31,6 +35,13 @@ public class GlobalExceptionHandler {
         return ApiResponse.error(ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponse<Map<String, String>> handleInvalidRequestException(InvalidRequestException ex) {
+        log.error("Bad request: {} invalid fields", ex.getErrors().size());
+        return new ApiResponse<>(false, ex.getMessage(), ex.getErrors());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiResponse<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
@@ -43,6 +54,21 @@ public class GlobalExceptionHandler {
         return new ApiResponse<>(false, "Validation failed", errors);
     }
 
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponse<Void> handleConnectionUnavailable(Exception ex) {
+        log.warn("No database connection available: {}", ex.getMessage());
+        return ApiResponse.error("Service is busy, please retry later");
+    }
+
+    @ExceptionHandler(QueueFullException.class)
+    public ResponseEntity<ApiResponse<Void>> handleQueueFullException(QueueFullException ex) {
+        log.warn("Queue full: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ApiResponse<Void> handleGlobalException(Exception ex) {
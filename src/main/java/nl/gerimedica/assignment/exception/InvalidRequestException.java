@@ -0,0 +1,18 @@
+package nl.gerimedica.assignment.exception;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Thrown when a request has several invalid fields, all reported at once as field -> message
+ */
+@Getter
+public class InvalidRequestException extends BadRequestException {
+    private final Map<String, String> errors;
+
+    public InvalidRequestException(Map<String, String> errors) {
+        super("Validation failed");
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,18 @@
+package nl.gerimedica.assignment.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a bounded work queue cannot take more work; clients should retry after {@link #getRetryAfter()}
+ */
+@Getter
+public class QueueFullException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public QueueFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -1,27 +1,49 @@
 package nl.gerimedica.assignment.integration.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import nl.gerimedica.assignment.dto.ApiResponse;
 import nl.gerimedica.assignment.dto.AppointmentDTO;
+import nl.gerimedica.assignment.dto.BatchDeleteRequest;
+import nl.gerimedica.assignment.dto.BatchDeleteResult;
 import nl.gerimedica.assignment.dto.BulkAppointmentRequest;
+import nl.gerimedica.assignment.dto.BulkJobStatus;
+import nl.gerimedica.assignment.dto.CursorPage;
+import nl.gerimedica.assignment.dto.ImportResult;
+import nl.gerimedica.assignment.dto.NormalizedAppointments;
 import nl.gerimedica.assignment.dto.PatientDTO;
-import nl.gerimedica.assignment.mappers.PatientMapper;
+import nl.gerimedica.assignment.dto.PatientLookupRequest;
+import nl.gerimedica.assignment.dto.PatientLookupResult;
+import nl.gerimedica.assignment.mappers.AppointmentMapper;
+import nl.gerimedica.assignment.service.AppointmentImportService;
+import nl.gerimedica.assignment.service.BulkAppointmentJobService;
 import nl.gerimedica.assignment.service.HospitalService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import nl.gerimedica.assignment.entity.Patient;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -32,15 +54,32 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Hospital API", description = "Endpoints for managing patients and appointments")
 public class AppointmentController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final HospitalService hospitalService;
-    private final PatientMapper patientMapper;
+    private final AppointmentImportService appointmentImportService;
+    private final BulkAppointmentJobService bulkAppointmentJobService;
+    private final AppointmentMapper appointmentMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * OpenAPI schemas of the envelopes returned by the list endpoints, whose data depends on {@code normalized}
+     */
+    private record AppointmentListResponse(boolean success, String message, List<AppointmentDTO> data) {}
+
+    private record AppointmentPageResponse(boolean success, String message, CursorPage<AppointmentDTO> data) {}
+
+    private record NormalizedAppointmentsResponse(boolean success, String message, NormalizedAppointments data) {}
 
     @PostMapping("/appointments/bulk")
-    @Operation(summary = "Create multiple appointments for a patient")
+    @Operation(summary = "Create multiple appointments for a patient; retries with the same Idempotency-Key get the first response")
     public ResponseEntity<ApiResponse<List<AppointmentDTO>>> createBulkAppointments(
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody BulkAppointmentRequest request) {
 
-        var appointments = hospitalService.bulkCreateAppointments(
+        var creation = hospitalService.bulkCreateAppointments(
+                idempotencyKey,
                 request.patientName(),
                 request.ssn(),
                 request.reasons(),
@@ -49,30 +88,145 @@ public class AppointmentController {
 
         return ResponseEntity
                 .status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Appointments created successfully", appointments));
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(creation.replayed()))
+                .body(ApiResponse.success("Appointments created successfully", creation.appointments()));
+    }
+
+    @PostMapping("/appointments/bulk/async")
+    @Operation(summary = "Queue multiple appointments for a patient, returning a job to poll for the outcome")
+    public ResponseEntity<ApiResponse<BulkJobStatus>> createBulkAppointmentsAsync(
+            @Valid @RequestBody BulkAppointmentRequest request) {
+        BulkJobStatus job = bulkAppointmentJobService.enqueue(request);
+
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/hospital/appointments/bulk/jobs/{jobId}")
+                        .buildAndExpand(job.jobId())
+                        .toUri())
+                .body(ApiResponse.success("Appointments accepted for processing", job));
+    }
+
+    @GetMapping("/appointments/bulk/jobs/{jobId}")
+    @Operation(summary = "Get the status of a queued bulk appointment request")
+    public ResponseEntity<ApiResponse<BulkJobStatus>> getBulkJob(@PathVariable long jobId) {
+        return ResponseEntity.ok(ApiResponse.success(bulkAppointmentJobService.getJob(jobId)));
+    }
+
+    @PostMapping(value = "/appointments/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Stream-import appointments for many patients from newline-delimited JSON")
+    public ResponseEntity<ApiResponse<ImportResult>> importAppointmentsNdjson(InputStream body) {
+        ImportResult result = appointmentImportService.importNdjson(body);
+        return ResponseEntity.ok(ApiResponse.success("Import finished", result));
+    }
+
+    @PostMapping(value = "/appointments/import", consumes = "text/csv")
+    @Operation(summary = "Stream-import appointments for many patients from CSV")
+    public ResponseEntity<ApiResponse<ImportResult>> importAppointmentsCsv(InputStream body) {
+        ImportResult result = appointmentImportService.importCsv(body);
+        return ResponseEntity.ok(ApiResponse.success("Import finished", result));
     }
 
     @GetMapping("/patients/{ssn}")
-    @Operation(summary = "Find a patient by SSN")
-    public ResponseEntity<ApiResponse<PatientDTO>> getPatientBySSN(@PathVariable String ssn) {
-        Patient patient = hospitalService.findPatientBySSN(ssn);
-        return ResponseEntity.ok(ApiResponse.success(patientMapper.toDto(patient)));
+    @Operation(summary = "Find a patient by SSN; answers 304 when If-None-Match holds the current ETag")
+    public ResponseEntity<ApiResponse<PatientDTO>> getPatientBySSN(@PathVariable String ssn, WebRequest request) {
+        if (notModified(ssn, request)) {
+            return null;
+        }
+        PatientDTO patient = hospitalService.findPatientBySSN(ssn);
+        return ResponseEntity.ok(ApiResponse.success(patient));
+    }
+
+    @PostMapping("/patients/lookup")
+    @Operation(summary = "Find many patients with their latest appointments by SSN, reporting SSNs without a patient")
+    public ResponseEntity<ApiResponse<PatientLookupResult>> lookupPatients(@Valid @RequestBody PatientLookupRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(hospitalService.lookupPatients(request.ssns())));
     }
 
     @GetMapping("/appointments/reason/exact")
-    @Operation(summary = "Get appointments by exact reason match")
-    public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsByExactReason(
-            @RequestParam String reason) {
+    @Operation(summary = "Get appointments by exact reason match",
+            responses = @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = "Appointments, or with normalized=true every patient once and appointments referencing them",
+                    content = @Content(schema = @Schema(
+                            oneOf = {AppointmentListResponse.class, NormalizedAppointmentsResponse.class}))))
+    public ResponseEntity<ApiResponse<?>> getAppointmentsByExactReason(
+            @RequestParam String reason,
+            @RequestParam(defaultValue = "false") boolean normalized) {
         List<AppointmentDTO> appointments = hospitalService.getAppointmentsByReason(reason);
-        return ResponseEntity.ok(ApiResponse.success(appointments));
+        return ResponseEntity.ok(ApiResponse.success(shape(appointments, normalized)));
     }
 
     @GetMapping("/appointments/reason/contains")
-    @Operation(summary = "Get appointments containing reason keyword")
-    public ResponseEntity<ApiResponse<List<AppointmentDTO>>> getAppointmentsContainingReason(
-            @RequestParam String keyword) {
+    @Operation(summary = "Get appointments containing reason keyword",
+            responses = @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = "Appointments, or with normalized=true every patient once and appointments referencing them",
+                    content = @Content(schema = @Schema(
+                            oneOf = {AppointmentListResponse.class, NormalizedAppointmentsResponse.class}))))
+    public ResponseEntity<ApiResponse<?>> getAppointmentsContainingReason(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "false") boolean normalized) {
         List<AppointmentDTO> appointments = hospitalService.getAppointmentsContainingReason(keyword);
-        return ResponseEntity.ok(ApiResponse.success(appointments));
+        return ResponseEntity.ok(ApiResponse.success(shape(appointments, normalized)));
+    }
+
+    @GetMapping("/appointments/reason/exact/page")
+    @Operation(summary = "Get one keyset page of appointments by exact reason match",
+            responses = @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = "A page of appointments, or with normalized=true every patient once and appointments referencing them",
+                    content = @Content(schema = @Schema(
+                            oneOf = {AppointmentPageResponse.class, NormalizedAppointmentsResponse.class}))))
+    public ResponseEntity<ApiResponse<?>> getAppointmentsByExactReasonPage(
+            @RequestParam String reason,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "false") boolean normalized) {
+        var page = hospitalService.getAppointmentsByReasonPage(reason, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(shape(page, normalized)));
+    }
+
+    @GetMapping("/appointments/reason/contains/page")
+    @Operation(summary = "Get one keyset page of appointments containing reason keyword",
+            responses = @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = "A page of appointments, or with normalized=true every patient once and appointments referencing them",
+                    content = @Content(schema = @Schema(
+                            oneOf = {AppointmentPageResponse.class, NormalizedAppointmentsResponse.class}))))
+    public ResponseEntity<ApiResponse<?>> getAppointmentsContainingReasonPage(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "false") boolean normalized) {
+        var page = hospitalService.getAppointmentsContainingReasonPage(keyword, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(shape(page, normalized)));
+    }
+
+    @GetMapping("/appointments/range")
+    @Operation(summary = "Get one keyset page of appointments in a date range, optionally filtered by reason or patient",
+            responses = @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200",
+                    description = "A page of appointments, or with normalized=true every patient once and appointments referencing them",
+                    content = @Content(schema = @Schema(
+                            oneOf = {AppointmentPageResponse.class, NormalizedAppointmentsResponse.class}))))
+    public ResponseEntity<ApiResponse<?>> getAppointmentsInRange(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String reason,
+            @RequestParam(required = false) String ssn,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(defaultValue = "false") boolean normalized) {
+        var page = hospitalService.getAppointmentsInRange(from, to, reason, ssn, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(shape(page, normalized)));
+    }
+
+    @GetMapping("/appointments/reason/exact/stream")
+    @Operation(summary = "Stream all appointments by exact reason match")
+    public ResponseEntity<StreamingResponseBody> streamAppointmentsByExactReason(@RequestParam String reason) {
+        return streamAppointments(consumer -> hospitalService.streamAppointmentsByReason(reason, consumer));
+    }
+
+    @GetMapping("/appointments/reason/contains/stream")
+    @Operation(summary = "Stream all appointments containing reason keyword")
+    public ResponseEntity<StreamingResponseBody> streamAppointmentsContainingReason(@RequestParam String keyword) {
+        return streamAppointments(consumer -> hospitalService.streamAppointmentsContainingReason(keyword, consumer));
     }
 
     @DeleteMapping("/appointments/patient/{ssn}")
@@ -82,13 +236,72 @@ public class AppointmentController {
         return ResponseEntity.ok(ApiResponse.success("Appointments deleted successfully", null));
     }
 
+    @PostMapping("/appointments/patients/delete")
+    @Operation(summary = "Delete all appointments for many patients")
+    public ResponseEntity<ApiResponse<BatchDeleteResult>> deleteAppointmentsBySSNs(
+            @Valid @RequestBody BatchDeleteRequest request) {
+        BatchDeleteResult result = hospitalService.deleteAppointmentsBySSNs(request.ssns());
+        return ResponseEntity.ok(ApiResponse.success("Appointments deleted successfully", result));
+    }
+
     @GetMapping("/appointments/latest/{ssn}")
-    @Operation(summary = "Get the latest appointment for a patient")
-    public ResponseEntity<ApiResponse<AppointmentDTO>> getLatestAppointment(@PathVariable String ssn) {
+    @Operation(summary = "Get the latest appointment for a patient; answers 304 when If-None-Match holds the current ETag")
+    public ResponseEntity<ApiResponse<AppointmentDTO>> getLatestAppointment(@PathVariable String ssn, WebRequest request) {
+        if (notModified(ssn, request)) {
+            return null;
+        }
         AppointmentDTO appointment = hospitalService.findLatestAppointmentBySSN(ssn);
         if (appointment == null) {
             return ResponseEntity.ok(ApiResponse.success("No appointments found for patient", null));
         }
         return ResponseEntity.ok(ApiResponse.success(appointment));
     }
+
+    /**
+     * Check If-None-Match against the patient's change version, without loading the patient or its appointments.
+     * Sets the ETag header of the response, or its 304 status when the client's copy is current.
+     */
+    private boolean notModified(String ssn, WebRequest request) {
+        return hospitalService.findPatientETag(ssn)
+                .map(request::checkNotModified)
+                .orElse(false);
+    }
+
+    /**
+     * With {@code normalized=true}, list every patient once and let appointments reference them by index
+     */
+    private Object shape(List<AppointmentDTO> appointments, boolean normalized) {
+        return normalized ? appointmentMapper.toNormalized(appointments, null) : appointments;
+    }
+
+    private Object shape(CursorPage<AppointmentDTO> page, boolean normalized) {
+        return normalized ? appointmentMapper.toNormalized(page.items(), page.nextCursor()) : page;
+    }
+
+    /**
+     * Writes the ApiResponse envelope around a DTO stream, serializing each appointment as it is read
+     */
+    private ResponseEntity<StreamingResponseBody> streamAppointments(Consumer<Consumer<AppointmentDTO>> query) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeStringField("message", "Operation completed successfully");
+                generator.writeArrayFieldStart("data");
+                query.accept(appointment -> {
+                    try {
+                        generator.writeObject(appointment);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
 }
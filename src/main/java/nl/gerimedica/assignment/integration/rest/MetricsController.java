@@ -2,16 +2,30 @@ package nl.gerimedica.assignment.integration.rest;
 
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Statistic;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import nl.gerimedica.assignment.dto.ApiResponse;
+import nl.gerimedica.assignment.dto.MetricsSummary;
+import nl.gerimedica.assignment.dto.TimerSummary;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @RestController
 @RequestMapping("/api/metrics")
@@ -22,19 +36,63 @@ public class MetricsController {
     private final MeterRegistry meterRegistry;
 
     /**
-     * Get a summary of hospital-related metrics counters
+     * Get a summary of hospital-related counters and latency timers
      */
     @GetMapping("/hospital")
     @Operation(summary = "Get hospital metrics summary")
-    public ApiResponse<Map<String, Double>> getHospitalMetrics() {
-        Map<String, Double> counters = meterRegistry.getMeters().stream()
-                .filter(meter -> meter.getId().getName().startsWith("hospital") &&
-                        meter.getId().getType() == Meter.Type.COUNTER)
+    public ApiResponse<MetricsSummary> getHospitalMetrics() {
+        Map<String, Double> counters = hospitalMeters()
+                .filter(meter -> meter.getId().getType() == Meter.Type.COUNTER)
                 .collect(Collectors.toMap(
                         meter -> meter.getId().getName(),
-                        meter -> meterRegistry.get(meter.getId().getName()).counter().count()
+                        MetricsController::count,
+                        // Tagged counters register one meter per tag value, report their total
+                        Double::sum,
+                        TreeMap::new
                 ));
 
-        return ApiResponse.success("Hospital metrics retrieved successfully", counters);
+        List<TimerSummary> timers = hospitalMeters()
+                .filter(Timer.class::isInstance)
+                .map(meter -> summarize((Timer) meter))
+                .sorted(Comparator.comparing(TimerSummary::name).thenComparing(summary -> summary.tags().toString()))
+                .toList();
+
+        return ApiResponse.success("Hospital metrics retrieved successfully", new MetricsSummary(counters, timers));
+    }
+
+    private Stream<Meter> hospitalMeters() {
+        return meterRegistry.getMeters().stream()
+                .filter(meter -> meter.getId().getName().startsWith("hospital"));
+    }
+
+    /**
+     * Counters and function counters both report their total as the COUNT statistic
+     */
+    private static double count(Meter meter) {
+        return StreamSupport.stream(meter.measure().spliterator(), false)
+                .filter(measurement -> measurement.getStatistic() == Statistic.COUNT)
+                .mapToDouble(Measurement::getValue)
+                .sum();
+    }
+
+    private static TimerSummary summarize(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            percentiles.put(String.valueOf(value.percentile()), value.value(TimeUnit.MILLISECONDS));
+        }
+
+        Map<String, String> tags = timer.getId().getTags().stream()
+                .filter(tag -> !tag.getKey().equals("application"))
+                .collect(Collectors.toMap(tag -> tag.getKey(), tag -> tag.getValue(), (first, second) -> first, TreeMap::new));
+
+        return new TimerSummary(
+                timer.getId().getName(),
+                tags,
+                snapshot.count(),
+                snapshot.total(TimeUnit.MILLISECONDS),
+                snapshot.mean(TimeUnit.MILLISECONDS),
+                snapshot.max(TimeUnit.MILLISECONDS),
+                percentiles);
     }
 }
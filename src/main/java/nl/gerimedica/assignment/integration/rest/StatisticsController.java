@@ -0,0 +1,58 @@
+package nl.gerimedica.assignment.integration.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import nl.gerimedica.assignment.dto.ApiResponse;
+import nl.gerimedica.assignment.dto.DayCount;
+import nl.gerimedica.assignment.dto.ReasonCount;
+import nl.gerimedica.assignment.dto.ReasonMonthCount;
+import nl.gerimedica.assignment.dto.StatisticsReconciliation;
+import nl.gerimedica.assignment.service.AppointmentStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/hospital/statistics")
+@RequiredArgsConstructor
+@Tag(name = "Statistics API", description = "Appointment counts served from precomputed rollups")
+public class StatisticsController {
+
+    private final AppointmentStatisticsService statisticsService;
+
+    @GetMapping("/reasons")
+    @Operation(summary = "Get the number of appointments per reason")
+    public ResponseEntity<ApiResponse<List<ReasonCount>>> getReasonCounts() {
+        return ResponseEntity.ok(ApiResponse.success(statisticsService.getReasonCounts()));
+    }
+
+    @GetMapping("/days")
+    @Operation(summary = "Get the number of appointments per day in a date range")
+    public ResponseEntity<ApiResponse<List<DayCount>>> getDayCounts(
+            @RequestParam String from,
+            @RequestParam String to) {
+        return ResponseEntity.ok(ApiResponse.success(statisticsService.getDayCounts(from, to)));
+    }
+
+    @GetMapping("/reasons/monthly")
+    @Operation(summary = "Get the number of appointments per reason and month in a month range")
+    public ResponseEntity<ApiResponse<List<ReasonMonthCount>>> getReasonMonthCounts(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(required = false) String reason) {
+        return ResponseEntity.ok(ApiResponse.success(statisticsService.getReasonMonthCounts(reason, from, to)));
+    }
+
+    @PostMapping("/reconcile")
+    @Operation(summary = "Check the rollups against the appointments, rebuilding them on drift when repair is set")
+    public ResponseEntity<ApiResponse<StatisticsReconciliation>> reconcile(
+            @RequestParam(defaultValue = "false") boolean repair) {
+        return ResponseEntity.ok(ApiResponse.success(statisticsService.reconcile(repair)));
+    }
+}
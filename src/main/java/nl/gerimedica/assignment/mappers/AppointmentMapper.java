@@ -1,10 +1,19 @@
 package nl.gerimedica.assignment.mappers;
 
 import nl.gerimedica.assignment.dto.AppointmentDTO;
+import nl.gerimedica.assignment.dto.NormalizedAppointments;
+import nl.gerimedica.assignment.dto.PatientDTO;
 import nl.gerimedica.assignment.entity.Appointment;
+import nl.gerimedica.assignment.repository.AppointmentRow;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Mapper(componentModel = "spring", uses = {PatientMapper.class})
 public interface AppointmentMapper {
 
@@ -12,7 +21,40 @@ public interface AppointmentMapper {
     @Mapping(source = "patient", target = "patient")
     AppointmentDTO toDto(Appointment appointment);
 
+    /**
+     * Map an appointment, sharing the patient DTO with the other appointments mapped in the same context
+     */
+    @Mapping(source = "patient", target = "patient", qualifiedByName = "sharedPatient")
+    AppointmentDTO toDto(Appointment appointment, @Context PatientDtoContext patients);
+
+    /**
+     * Map a read projection, sharing the patient DTO with the other rows mapped in the same context
+     */
+    @Mapping(target = "patient", expression = "java(patients.patient(row.patientName(), row.patientSsn()))")
+    AppointmentDTO toDto(AppointmentRow row, @Context PatientDtoContext patients);
 
+
+    @Mapping(target = "version", ignore = true)
     Appointment toEntity(AppointmentDTO dto);
 
+    /**
+     * Convert appointments to the normalized shape: every patient once, referenced by index
+     *
+     * @param nextCursor Cursor of the following page, null for unpaged results and the last page
+     */
+    default NormalizedAppointments toNormalized(List<AppointmentDTO> appointments, String nextCursor) {
+        Map<String, Integer> indexBySsn = new HashMap<>();
+        List<PatientDTO> patients = new ArrayList<>();
+        List<NormalizedAppointments.AppointmentRef> refs = new ArrayList<>(appointments.size());
+
+        for (AppointmentDTO appointment : appointments) {
+            PatientDTO patient = appointment.patient();
+            int index = indexBySsn.computeIfAbsent(patient.ssn(), ssn -> {
+                patients.add(patient);
+                return patients.size() - 1;
+            });
+            refs.add(new NormalizedAppointments.AppointmentRef(appointment.reason(), appointment.appointmentDate(), index));
+        }
+        return new NormalizedAppointments(patients, refs, nextCursor);
+    }
 }
@@ -0,0 +1,19 @@
+package nl.gerimedica.assignment.mappers;
+
+import nl.gerimedica.assignment.dto.PatientDTO;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MapStruct mapping context that hands out one PatientDTO per SSN.
+ * Create one per request, so every appointment of the same patient references the same DTO.
+ */
+public class PatientDtoContext {
+
+    private final Map<String, PatientDTO> patients = new HashMap<>();
+
+    public PatientDTO patient(String name, String ssn) {
+        return patients.computeIfAbsent(ssn, key -> new PatientDTO(name, key));
+    }
+}
@@ -2,8 +2,10 @@ package nl.gerimedica.assignment.mappers;
 
 import nl.gerimedica.assignment.dto.PatientDTO;
 import nl.gerimedica.assignment.entity.Patient;
+import org.mapstruct.Context;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(componentModel = "spring")
 public interface PatientMapper {
@@ -11,8 +13,19 @@ public interface PatientMapper {
 
     PatientDTO toDto(Patient patient);
 
+    /**
+     * Map a patient to the DTO already handed out for its SSN in this context, if any
+     */
+    @Named("sharedPatient")
+    default PatientDTO toSharedDto(Patient patient, @Context PatientDtoContext patients) {
+        return patient == null ? null : patients.patient(patient.getName(), patient.getSsn());
+    }
+
 
     @Mapping(target = "appointments", ignore = true)
+    @Mapping(target = "latestAppointmentId", ignore = true)
+    @Mapping(target = "latestAppointmentDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Patient toEntity(PatientDTO dto);
 
 }
@@ -0,0 +1,186 @@
+package nl.gerimedica.assignment.repository;
+
+import jakarta.persistence.EntityManager;
+import nl.gerimedica.assignment.entity.Appointment;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * JDBC batch writer for appointments, used for bulk requests instead of the persistence context.
+ * - Rows are written without entity snapshots or dirty checking
+ * - IDs come from the same pooled sequence generator Hibernate uses, so both write paths can be mixed
+ * - An appointment whose patient, date and reason already exist is skipped by the unique natural key
+ *   (ON CONFLICT DO NOTHING), so retried requests do not duplicate rows and need no read before the write
+ * - On PostgreSQL each batch is one INSERT ... SELECT FROM unnest(arrays) RETURNING id, which reports the rows
+ *   actually inserted; H2, used by the tests, runs plain batched INSERTs and reports them by update count
+ * - Rows are inserted in natural key order, so concurrent writers of overlapping keys cannot deadlock
+ */
+@Repository
+public class AppointmentBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO appointments (id, reason_id, appointment_date, patient_id, version) VALUES (?, ?, ?, ?, 0) " +
+                    "ON CONFLICT DO NOTHING";
+    private static final String UNNEST_INSERT_SQL =
+            "INSERT INTO appointments (id, reason_id, appointment_date, patient_id, version) " +
+                    "SELECT id, reason_id, appointment_date, patient_id, 0 " +
+                    "FROM unnest(?::bigint[], ?::integer[], ?::timestamp[], ?::bigint[]) AS a (id, reason_id, appointment_date, patient_id) " +
+                    "ON CONFLICT DO NOTHING RETURNING id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ReasonDictionary reasonDictionary;
+    private final LatestAppointmentTracker latestAppointmentTracker;
+    private final AppointmentStatisticsTracker appointmentStatisticsTracker;
+    private final int batchSize;
+    private final TimeZone jdbcTimeZone;
+    private final DatabaseProduct databaseProduct;
+
+    public AppointmentBatchWriter(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            ReasonDictionary reasonDictionary,
+            LatestAppointmentTracker latestAppointmentTracker,
+            AppointmentStatisticsTracker appointmentStatisticsTracker,
+            DatabaseProduct databaseProduct,
+            @Value("${hospital.bulk.jdbc-batch-size:1000}") int batchSize,
+            @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:UTC}") String jdbcTimeZone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.reasonDictionary = reasonDictionary;
+        this.latestAppointmentTracker = latestAppointmentTracker;
+        this.appointmentStatisticsTracker = appointmentStatisticsTracker;
+        this.databaseProduct = databaseProduct;
+        this.batchSize = batchSize;
+        this.jdbcTimeZone = TimeZone.getTimeZone(jdbcTimeZone);
+    }
+
+    /**
+     * Insert the given appointments in batches within the current transaction, skipping those that already exist.
+     * The referenced patients must already be flushed, and each appointment gets its ID assigned.
+     *
+     * @param appointments New appointments, all with a persisted patient
+     * @return The appointments inserted, in the given order; existing ones are left out
+     */
+    public List<Appointment> insertAll(List<Appointment> appointments) {
+        if (appointments.isEmpty()) {
+            return List.of();
+        }
+
+        assignIds(appointments);
+
+        // Resolve (and register) every distinct reason before the batch starts
+        Map<String, Integer> reasonIds = new HashMap<>();
+        for (Appointment appointment : appointments) {
+            reasonIds.computeIfAbsent(appointment.getReason(), reasonDictionary::idOf);
+        }
+
+        List<Appointment> ordered = new ArrayList<>(appointments);
+        ordered.sort(Comparator.comparing((Appointment appointment) -> appointment.getPatient().getId())
+                .thenComparing(Appointment::getAppointmentDate)
+                .thenComparing(appointment -> reasonIds.get(appointment.getReason())));
+        Set<Long> insertedIds = databaseProduct.isPostgres()
+                ? insertUnnested(ordered, reasonIds)
+                : insertBatched(ordered, reasonIds);
+        List<Appointment> inserted = appointments.stream()
+                .filter(appointment -> insertedIds.contains(appointment.getId()))
+                .toList();
+
+        latestAppointmentTracker.appointmentsWritten(inserted);
+        appointmentStatisticsTracker.appointmentsWritten(inserted);
+        return inserted;
+    }
+
+    /**
+     * @return IDs of the inserted rows
+     */
+    private Set<Long> insertUnnested(List<Appointment> appointments, Map<String, Integer> reasonIds) {
+        Set<Long> insertedIds = new HashSet<>();
+        for (int from = 0; from < appointments.size(); from += batchSize) {
+            List<Appointment> batch = appointments.subList(from, Math.min(from + batchSize, appointments.size()));
+            Long[] ids = new Long[batch.size()];
+            Integer[] reasons = new Integer[batch.size()];
+            String[] dates = new String[batch.size()];
+            Long[] patientIds = new Long[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                Appointment appointment = batch.get(i);
+                ids[i] = appointment.getId();
+                reasons[i] = reasonIds.get(appointment.getReason());
+                dates[i] = jdbcTimestamp(appointment.getAppointmentDate());
+                patientIds[i] = appointment.getPatient().getId();
+            }
+
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(UNNEST_INSERT_SQL);
+                ps.setArray(1, connection.createArrayOf("bigint", ids));
+                ps.setArray(2, connection.createArrayOf("integer", reasons));
+                ps.setArray(3, connection.createArrayOf("text", dates));
+                ps.setArray(4, connection.createArrayOf("bigint", patientIds));
+                return ps;
+            }, (RowCallbackHandler) rs -> insertedIds.add(rs.getLong(1)));
+        }
+        return insertedIds;
+    }
+
+    /**
+     * @return IDs of the inserted rows
+     */
+    private Set<Long> insertBatched(List<Appointment> appointments, Map<String, Integer> reasonIds) {
+        // Bind timestamps exactly like Hibernate does with hibernate.jdbc.time_zone set
+        Calendar calendar = Calendar.getInstance(jdbcTimeZone);
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, appointments, batchSize, (ps, appointment) -> {
+            ps.setLong(1, appointment.getId());
+            ps.setInt(2, reasonIds.get(appointment.getReason()));
+            ps.setTimestamp(3, Timestamp.valueOf(appointment.getAppointmentDate()), calendar);
+            ps.setLong(4, appointment.getPatient().getId());
+        });
+
+        Set<Long> insertedIds = new HashSet<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count != 0) {
+                    insertedIds.add(appointments.get(index).getId());
+                }
+                index++;
+            }
+        }
+        return insertedIds;
+    }
+
+    /**
+     * The timestamp text the driver would send for the date bound in the JDBC time zone, like Hibernate binds it
+     */
+    private String jdbcTimestamp(LocalDateTime date) {
+        return Timestamp.valueOf(date).toInstant().atZone(jdbcTimeZone.toZoneId()).toLocalDateTime().toString();
+    }
+
+    private void assignIds(List<Appointment> appointments) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(Appointment.class)
+                .getGenerator();
+
+        for (Appointment appointment : appointments) {
+            appointment.setId((Long) generator.generate(session, appointment));
+        }
+    }
+}
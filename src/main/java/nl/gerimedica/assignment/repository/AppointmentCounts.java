@@ -0,0 +1,67 @@
+package nl.gerimedica.assignment.repository;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Appointment counts, or count changes, for each of the three rollups.
+ * Keys are kept sorted, so every transaction updates rollup rows in the same order.
+ */
+final class AppointmentCounts {
+
+    record ReasonMonth(int reasonId, LocalDate month) {}
+
+    private static final Comparator<ReasonMonth> REASON_MONTH_ORDER =
+            Comparator.comparingInt(ReasonMonth::reasonId).thenComparing(ReasonMonth::month);
+
+    final Map<Integer, Long> byReason = new TreeMap<>();
+    final Map<LocalDate, Long> byDay = new TreeMap<>();
+    final Map<ReasonMonth, Long> byReasonMonth = new TreeMap<>(REASON_MONTH_ORDER);
+
+    void add(int reasonId, LocalDate day, long count) {
+        byReason.merge(reasonId, count, Long::sum);
+        byDay.merge(day, count, Long::sum);
+        byReasonMonth.merge(new ReasonMonth(reasonId, day.withDayOfMonth(1)), count, Long::sum);
+    }
+
+    /**
+     * Drop keys whose changes cancelled out
+     */
+    AppointmentCounts withoutZeros() {
+        byReason.values().removeIf(count -> count == 0);
+        byDay.values().removeIf(count -> count == 0);
+        byReasonMonth.values().removeIf(count -> count == 0);
+        return this;
+    }
+
+    boolean isEmpty() {
+        return byReason.isEmpty() && byDay.isEmpty() && byReasonMonth.isEmpty();
+    }
+
+    RollupDrift driftFrom(AppointmentCounts actual) {
+        return new RollupDrift(
+                mismatches(byReason, actual.byReason),
+                mismatches(byDay, actual.byDay),
+                mismatches(byReasonMonth, actual.byReasonMonth));
+    }
+
+    /**
+     * Keys whose counts differ, a missing key counting as zero
+     */
+    private static <K> int mismatches(Map<K, Long> stored, Map<K, Long> actual) {
+        Set<K> keys = new HashSet<>(stored.keySet());
+        keys.addAll(actual.keySet());
+        int mismatches = 0;
+        for (K key : keys) {
+            if (!Objects.equals(stored.getOrDefault(key, 0L), actual.getOrDefault(key, 0L))) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+}
@@ -0,0 +1,89 @@
+package nl.gerimedica.assignment.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Creates the monthly range partitions of the appointments table.
+ * - Partitions are named appointments_yYYYYmMM and cover [first of the month, first of the next month)
+ * - Rows that landed in appointments_default before their month existed are moved into the new partition
+ * - Only one node creates partitions at a time, serialized on a transaction-scoped advisory lock
+ */
+@Slf4j
+@Repository
+public class AppointmentPartitionManager {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final long ADVISORY_LOCK_KEY = 0x6170706f696e7470L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseProduct databaseProduct;
+    private volatile Boolean partitioned;
+
+    public AppointmentPartitionManager(JdbcTemplate jdbcTemplate, DatabaseProduct databaseProduct) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseProduct = databaseProduct;
+    }
+
+    /**
+     * Check whether the appointments table is partitioned, i.e. the database is PostgreSQL with migration 7 applied.
+     * Other databases, like H2 in the tests, keep a plain table.
+     */
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            partitioned = databaseProduct.isPostgres() && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                            "WHERE c.oid = to_regclass('appointments'))", Boolean.class));
+        }
+        return partitioned;
+    }
+
+    /**
+     * Create the missing monthly partitions from {@code from} up to and including {@code to}.
+     *
+     * @return Number of partitions created
+     */
+    @Transactional
+    public int createMonthlyPartitions(YearMonth from, YearMonth to) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + ADVISORY_LOCK_KEY + ")");
+
+        int created = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            String name = partitionName(month);
+            Boolean exists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name);
+            if (!Boolean.TRUE.equals(exists)) {
+                createPartition(name, month);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "appointments_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private void createPartition(String name, YearMonth month) {
+        Timestamp start = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp end = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+
+        // Attaching a range the default partition has rows for fails, so those rows move over first.
+        // Indexes and foreign keys of the parent are added to the table when it is attached.
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE appointments INCLUDING DEFAULTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM appointments_default " +
+                "WHERE appointment_date >= ? AND appointment_date < ? " +
+                "RETURNING id, appointment_date, patient_id, reason_id, version) " +
+                "INSERT INTO " + name + " (id, appointment_date, patient_id, reason_id, version) " +
+                "SELECT id, appointment_date, patient_id, reason_id, version FROM moved", start, end);
+        jdbcTemplate.execute("ALTER TABLE appointments ATTACH PARTITION " + name +
+                " FOR VALUES FROM ('" + start + "') TO ('" + end + "')");
+
+        log.info("Created appointment partition {} for {}, moved {} rows from the default partition", name, month, moved);
+    }
+}
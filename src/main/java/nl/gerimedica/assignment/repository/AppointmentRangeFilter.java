@@ -0,0 +1,13 @@
+package nl.gerimedica.assignment.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Date range search on appointments, [from, to) on appointment_date
+ *
+ * @param reasons   Exact reason texts to match, or null for any reason
+ * @param patientId Patient to match, or null for any patient
+ */
+public record AppointmentRangeFilter(LocalDateTime from, LocalDateTime to, Collection<String> reasons, Long patientId) {
+}
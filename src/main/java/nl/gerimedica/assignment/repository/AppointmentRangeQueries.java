@@ -0,0 +1,24 @@
+package nl.gerimedica.assignment.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Date range queries whose optional filters are left out of the statement instead of being
+ * bound as catch-all {@code (:x IS NULL OR ...)} predicates, so every filter can use its index
+ */
+public interface AppointmentRangeQueries {
+
+    /**
+     * Keyset page of appointments in the filter's date range, ordered by (appointmentDate, id).
+     * The range is bound as plain {@code appointment_date} bounds, which PostgreSQL prunes partitions on.
+     *
+     * @param afterDate Date of the last appointment on the previous page, or null for the first page
+     * @param afterId   ID of the last appointment on the previous page, or null for the first page
+     * @param limit     Maximum number of rows
+     */
+    List<AppointmentRow> findPageByDateRange(AppointmentRangeFilter filter,
+                                             LocalDateTime afterDate,
+                                             Long afterId,
+                                             int limit);
+}
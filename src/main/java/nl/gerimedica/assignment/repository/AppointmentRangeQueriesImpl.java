@@ -0,0 +1,52 @@
+package nl.gerimedica.assignment.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JPQL implementation of {@link AppointmentRangeQueries}, mixed into AppointmentRepository
+ */
+class AppointmentRangeQueriesImpl implements AppointmentRangeQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AppointmentRow> findPageByDateRange(AppointmentRangeFilter filter,
+                                                    LocalDateTime afterDate,
+                                                    Long afterId,
+                                                    int limit) {
+        StringBuilder jpql = new StringBuilder(AppointmentRepository.SELECT_ROW)
+                .append("WHERE a.appointmentDate >= :from AND a.appointmentDate < :to ");
+        if (filter.reasons() != null) {
+            jpql.append("AND a.reason IN :reasons ");
+        }
+        if (filter.patientId() != null) {
+            jpql.append("AND a.patient.id = :patientId ");
+        }
+        if (afterDate != null) {
+            jpql.append("AND (a.appointmentDate > :afterDate OR (a.appointmentDate = :afterDate AND a.id > :afterId)) ");
+        }
+        jpql.append("ORDER BY a.appointmentDate, a.id");
+
+        TypedQuery<AppointmentRow> query = entityManager.createQuery(jpql.toString(), AppointmentRow.class)
+                .setParameter("from", filter.from())
+                .setParameter("to", filter.to())
+                .setMaxResults(limit);
+        if (filter.reasons() != null) {
+            query.setParameter("reasons", filter.reasons());
+        }
+        if (filter.patientId() != null) {
+            query.setParameter("patientId", filter.patientId());
+        }
+        if (afterDate != null) {
+            query.setParameter("afterDate", afterDate)
+                    .setParameter("afterId", afterId);
+        }
+        return query.getResultList();
+    }
+}
@@ -1,30 +1,81 @@
 package nl.gerimedica.assignment.repository;
 
+import jakarta.persistence.QueryHint;
+import nl.gerimedica.assignment.dto.AppointmentDTO;
 import nl.gerimedica.assignment.entity.Appointment;
-import org.springframework.data.domain.Page;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Repository for Appointment entity.
+ * - Read queries project straight into DTOs, skipping entity hydration and the persistence context
+ * - Deletes are single set-based statements returning the affected row count
+ */
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentRangeQueries {
 
     /**
-     * Find appointments by exact reason
+     * Constructor expression selecting an AppointmentDTO without hydrating entities
      */
-    @EntityGraph(attributePaths = {"patient"})
-    List<Appointment> findByReasonIgnoreCase(String reason);
+    String SELECT_DTO = "SELECT new nl.gerimedica.assignment.dto.AppointmentDTO(a.reason, a.appointmentDate, p.name, p.ssn) " +
+            "FROM Appointment a JOIN a.patient p ";
 
     /**
-     * Find appointments containing the reason keyword
+     * Constructor expression selecting an AppointmentRow, the DTO fields plus the keyset position
      */
-    @EntityGraph(attributePaths = {"patient"})
-    List<Appointment> findByReasonContainingIgnoreCase(String reasonKeyword);
+    String SELECT_ROW = "SELECT new nl.gerimedica.assignment.repository.AppointmentRow(a.id, a.reason, a.appointmentDate, p.name, p.ssn) " +
+            "FROM Appointment a JOIN a.patient p ";
+
+    /**
+     * Find appointments with one of the given exact reasons.
+     * Reasons are bound as dictionary IDs, so this is an integer IN-list on idx_appointments_reason_id.
+     *
+     * @param reasons Exact reason texts, resolved through ReasonDictionary; must not be empty
+     */
+    @Query(SELECT_ROW + "WHERE a.reason IN :reasons")
+    List<AppointmentRow> findByReasonIn(@Param("reasons") Collection<String> reasons);
+
+    /**
+     * First keyset page of appointments with one of the given exact reasons, ordered by (appointmentDate, id)
+     */
+    @Query(SELECT_ROW +
+            "WHERE a.reason IN :reasons " +
+            "ORDER BY a.appointmentDate, a.id")
+    List<AppointmentRow> findPageByReasonIn(@Param("reasons") Collection<String> reasons, Pageable pageable);
+
+    /**
+     * Keyset page of appointments with one of the given exact reasons,
+     * following the given (appointmentDate, id) position
+     */
+    @Query(SELECT_ROW +
+            "WHERE a.reason IN :reasons " +
+            "AND (a.appointmentDate > :afterDate OR (a.appointmentDate = :afterDate AND a.id > :afterId)) " +
+            "ORDER BY a.appointmentDate, a.id")
+    List<AppointmentRow> findPageByReasonInAfter(@Param("reasons") Collection<String> reasons,
+                                                 @Param("afterDate") LocalDateTime afterDate,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    /**
+     * Stream all appointments with one of the given exact reasons from a server-side cursor
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO +
+            "WHERE a.reason IN :reasons " +
+            "ORDER BY a.appointmentDate, a.id")
+    Stream<AppointmentDTO> streamByReasonIn(@Param("reasons") Collection<String> reasons);
 
     /**
      * Find appointments by patient SSN
@@ -32,14 +83,31 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Appointment> findByPatientSsn(String ssn);
 
     /**
-     * Delete all appointments for a patient with the given SSN
+     * Delete all appointments for a patient with the given ID in a single statement
+     *
+     * @return Number of appointments deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Appointment a WHERE a.patient.id = :patientId")
+    int deleteAllByPatientId(@Param("patientId") Long patientId);
+
+    /**
+     * Delete all appointments for the patients with the given IDs in a single statement
+     *
+     * @return Number of appointments deleted
      */
-    void deleteByPatientSsn(String ssn);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Appointment a WHERE a.patient.id IN :patientIds")
+    int deleteAllByPatientIdIn(@Param("patientIds") Collection<Long> patientIds);
 
     /**
-     * Find the latest appointment for a patient with the given SSN
+     * Find the latest appointment for a patient with the given ID through the patient's latest-appointment pointer:
+     * two primary key lookups, no scan or sort over the patient's appointments
      */
-    @Query("SELECT a FROM Appointment a WHERE a.patient.ssn = :ssn ORDER BY a.appointmentDate DESC")
-    Appointment findLatestByPatientSsn(@Param("ssn") String ssn);
+    @Query("SELECT new nl.gerimedica.assignment.dto.AppointmentDTO(a.reason, a.appointmentDate, p.name, p.ssn) " +
+            "FROM Patient p JOIN Appointment a " +
+            "ON a.id = p.latestAppointmentId AND a.appointmentDate = p.latestAppointmentDate " +
+            "WHERE p.id = :patientId")
+    Optional<AppointmentDTO> findLatestByPatientId(@Param("patientId") Long patientId);
 
 }
\ No newline at end of file
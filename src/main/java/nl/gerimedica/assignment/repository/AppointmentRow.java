@@ -0,0 +1,14 @@
+package nl.gerimedica.assignment.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read projection of an appointment with its patient, carrying the ID needed as keyset position
+ */
+public record AppointmentRow(
+        long id,
+        String reason,
+        LocalDateTime appointmentDate,
+        String patientName,
+        String patientSsn
+) {}
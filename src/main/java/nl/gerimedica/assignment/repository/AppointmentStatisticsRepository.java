@@ -0,0 +1,144 @@
+package nl.gerimedica.assignment.repository;
+
+import jakarta.persistence.EntityManager;
+import nl.gerimedica.assignment.entity.AppointmentCountByDay;
+import nl.gerimedica.assignment.entity.AppointmentCountByReason;
+import nl.gerimedica.assignment.entity.AppointmentCountByReasonMonth;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads the appointment count rollups, and checks or rebuilds them against the appointments table.
+ * - Reads only touch the rollup tables and skip rows whose count dropped to zero
+ * - Checking aggregates the whole appointments table once by reason and day; run it in a snapshot transaction,
+ *   in which the rollups and the appointments are always consistent unless something bypassed the tracker
+ * - Rebuilding replaces all rollup rows; on PostgreSQL the rollups are locked against concurrent writers first,
+ *   so no transaction can commit appointments between the aggregation and the rebuild's commit
+ */
+@Repository
+public class AppointmentStatisticsRepository {
+
+    private static final String ACTUAL_COUNTS_SQL = "SELECT reason_id, CAST(appointment_date AS DATE), COUNT(*) " +
+            "FROM appointments GROUP BY reason_id, CAST(appointment_date AS DATE)";
+    private static final String LOCK_SQL = "LOCK TABLE appointment_counts_by_reason, appointment_counts_by_day, " +
+            "appointment_counts_by_reason_month IN SHARE ROW EXCLUSIVE MODE";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseProduct databaseProduct;
+
+    public AppointmentStatisticsRepository(EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                           DatabaseProduct databaseProduct) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseProduct = databaseProduct;
+    }
+
+    public List<AppointmentCountByReason> findReasonCounts() {
+        return entityManager.createQuery(
+                        "SELECT c FROM AppointmentCountByReason c WHERE c.appointmentCount > 0 " +
+                                "ORDER BY c.appointmentCount DESC, c.reasonId", AppointmentCountByReason.class)
+                .getResultList();
+    }
+
+    /**
+     * @param from First day, inclusive
+     * @param to   Last day, exclusive
+     */
+    public List<AppointmentCountByDay> findDayCounts(LocalDate from, LocalDate to) {
+        return entityManager.createQuery(
+                        "SELECT c FROM AppointmentCountByDay c WHERE c.appointmentDay >= :from AND c.appointmentDay < :to " +
+                                "AND c.appointmentCount > 0 ORDER BY c.appointmentDay", AppointmentCountByDay.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    /**
+     * @param reasonIds Reasons to include, or null for all
+     * @param from      First day of the first month, inclusive
+     * @param to        First day of the last month, exclusive
+     */
+    public List<AppointmentCountByReasonMonth> findReasonMonthCounts(Collection<Integer> reasonIds, LocalDate from, LocalDate to) {
+        String reasonFilter = reasonIds == null ? "" : "c.reasonId IN :reasonIds AND ";
+        var query = entityManager.createQuery(
+                        "SELECT c FROM AppointmentCountByReasonMonth c WHERE " + reasonFilter +
+                                "c.appointmentMonth >= :from AND c.appointmentMonth < :to AND c.appointmentCount > 0 " +
+                                "ORDER BY c.appointmentMonth, c.appointmentCount DESC, c.reasonId",
+                        AppointmentCountByReasonMonth.class)
+                .setParameter("from", from)
+                .setParameter("to", to);
+        if (reasonIds != null) {
+            query.setParameter("reasonIds", reasonIds);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Compare every rollup row with the appointments table.
+     */
+    public RollupDrift findDrift() {
+        return storedCounts().driftFrom(actualCounts());
+    }
+
+    /**
+     * Replace the rollups with counts aggregated from the appointments table, within the current transaction.
+     */
+    public void rebuild() {
+        if (databaseProduct.isPostgres()) {
+            jdbcTemplate.execute(LOCK_SQL);
+        }
+        AppointmentCounts actual = actualCounts();
+
+        jdbcTemplate.update("DELETE FROM appointment_counts_by_reason");
+        jdbcTemplate.update("DELETE FROM appointment_counts_by_day");
+        jdbcTemplate.update("DELETE FROM appointment_counts_by_reason_month");
+
+        var byReason = new ArrayList<>(actual.byReason.entrySet());
+        jdbcTemplate.batchUpdate("INSERT INTO appointment_counts_by_reason (reason_id, appointment_count) VALUES (?, ?)",
+                byReason, 1000, (ps, entry) -> {
+                    ps.setInt(1, entry.getKey());
+                    ps.setLong(2, entry.getValue());
+                });
+        var byDay = new ArrayList<>(actual.byDay.entrySet());
+        jdbcTemplate.batchUpdate("INSERT INTO appointment_counts_by_day (appointment_day, appointment_count) VALUES (?, ?)",
+                byDay, 1000, (ps, entry) -> {
+                    ps.setDate(1, Date.valueOf(entry.getKey()));
+                    ps.setLong(2, entry.getValue());
+                });
+        var byReasonMonth = new ArrayList<>(actual.byReasonMonth.entrySet());
+        jdbcTemplate.batchUpdate("INSERT INTO appointment_counts_by_reason_month " +
+                        "(reason_id, appointment_month, appointment_count) VALUES (?, ?, ?)",
+                byReasonMonth, 1000, (ps, entry) -> {
+                    ps.setInt(1, entry.getKey().reasonId());
+                    ps.setDate(2, Date.valueOf(entry.getKey().month()));
+                    ps.setLong(3, entry.getValue());
+                });
+    }
+
+    private AppointmentCounts actualCounts() {
+        AppointmentCounts actual = new AppointmentCounts();
+        jdbcTemplate.query(ACTUAL_COUNTS_SQL, (RowCallbackHandler) rs ->
+                actual.add(rs.getInt(1), rs.getDate(2).toLocalDate(), rs.getLong(3)));
+        return actual;
+    }
+
+    private AppointmentCounts storedCounts() {
+        AppointmentCounts stored = new AppointmentCounts();
+        jdbcTemplate.query("SELECT reason_id, appointment_count FROM appointment_counts_by_reason",
+                (RowCallbackHandler) rs -> stored.byReason.put(rs.getInt(1), rs.getLong(2)));
+        jdbcTemplate.query("SELECT appointment_day, appointment_count FROM appointment_counts_by_day",
+                (RowCallbackHandler) rs -> stored.byDay.put(rs.getDate(1).toLocalDate(), rs.getLong(2)));
+        jdbcTemplate.query("SELECT reason_id, appointment_month, appointment_count FROM appointment_counts_by_reason_month",
+                (RowCallbackHandler) rs -> stored.byReasonMonth.put(
+                        new AppointmentCounts.ReasonMonth(rs.getInt(1), rs.getDate(2).toLocalDate()), rs.getLong(3)));
+        return stored;
+    }
+}
@@ -0,0 +1,176 @@
+package nl.gerimedica.assignment.repository;
+
+import jakarta.persistence.EntityManager;
+import nl.gerimedica.assignment.config.TransactionBound;
+import nl.gerimedica.assignment.entity.Appointment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the appointment count rollups in step with the appointments table.
+ * - Created and removed appointments are collected per transaction as count changes, and added to the
+ *   rollups right before it commits, so the rollups change atomically with the appointments
+ * - Rows are upserted in key order, so concurrent writers of the same day or reason cannot deadlock,
+ *   and hold their row locks only for the commit
+ * - Bulk deletes must report the patients before deleting, their appointments are counted by reason and day first,
+ *   and the per-patient totals are returned for the audit log
+ * Writes bypassing this tracker show up as drift, see AppointmentStatisticsRepository.
+ */
+@Repository
+public class AppointmentStatisticsTracker {
+
+    private static final String REASON_TABLE = "appointment_counts_by_reason";
+    private static final String DAY_TABLE = "appointment_counts_by_day";
+    private static final String REASON_MONTH_TABLE = "appointment_counts_by_reason_month";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ReasonDictionary reasonDictionary;
+    private final DatabaseProduct databaseProduct;
+    private final TransactionBound<AppointmentCounts> pendingChanges;
+    private volatile UpsertStatements upserts;
+
+    private record UpsertStatements(String byReason, String byDay, String byReasonMonth) {}
+
+    public AppointmentStatisticsTracker(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                        ReasonDictionary reasonDictionary, DatabaseProduct databaseProduct) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.reasonDictionary = reasonDictionary;
+        this.databaseProduct = databaseProduct;
+        this.pendingChanges = new TransactionBound<>(AppointmentCounts::new).beforeCommit(this::apply);
+    }
+
+    /**
+     * Count an appointment being persisted through JPA.
+     * Outside a transaction nothing is persisted, so nothing is counted.
+     */
+    public void appointmentPersisted(Appointment appointment) {
+        AppointmentCounts pending = pendingChanges.get();
+        if (pending != null) {
+            pending.add(reasonDictionary.idOf(appointment.getReason()), appointment.getAppointmentDate().toLocalDate(), 1);
+        }
+    }
+
+    /**
+     * Count an appointment being removed through JPA.
+     */
+    public void appointmentRemoved(Appointment appointment) {
+        AppointmentCounts pending = pendingChanges.get();
+        if (pending != null) {
+            pending.add(reasonDictionary.idOf(appointment.getReason()), appointment.getAppointmentDate().toLocalDate(), -1);
+        }
+    }
+
+    /**
+     * Count appointments inserted without JPA, e.g. by AppointmentBatchWriter.
+     */
+    public void appointmentsWritten(Collection<Appointment> appointments) {
+        AppointmentCounts pending = pendingChanges.get();
+        AppointmentCounts changes = pending != null ? pending : new AppointmentCounts();
+        for (Appointment appointment : appointments) {
+            changes.add(reasonDictionary.idOf(appointment.getReason()), appointment.getAppointmentDate().toLocalDate(), 1);
+        }
+        if (pending == null) {
+            apply(changes);
+        }
+    }
+
+    /**
+     * Count all appointments of the given patients as removed. Call right before deleting them in the same transaction.
+     *
+     * @return Number of appointments about to be removed by patient ID, for the patients that have any
+     */
+    public Map<Long, Long> appointmentsRemoving(Collection<Long> patientIds) {
+        if (patientIds.isEmpty()) {
+            return Map.of();
+        }
+
+        AppointmentCounts pending = pendingChanges.get();
+        AppointmentCounts changes = pending != null ? pending : new AppointmentCounts();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Appointments persisted through JPA in this transaction must be counted as well
+            entityManager.flush();
+        }
+        String sql = "SELECT patient_id, reason_id, CAST(appointment_date AS DATE) AS appointment_day, " +
+                "COUNT(*) AS appointment_count " +
+                "FROM appointments WHERE patient_id IN (" + String.join(", ", Collections.nCopies(patientIds.size(), "?")) + ") " +
+                "GROUP BY patient_id, reason_id, CAST(appointment_date AS DATE)";
+        Map<Long, Long> countsByPatient = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            changes.add(rs.getInt(2), rs.getDate(3).toLocalDate(), -rs.getLong(4));
+            countsByPatient.merge(rs.getLong(1), rs.getLong(4), Long::sum);
+        }, patientIds.toArray());
+        if (pending == null) {
+            apply(changes);
+        }
+        return countsByPatient;
+    }
+
+    private void apply(AppointmentCounts changes) {
+        if (changes.withoutZeros().isEmpty()) {
+            return;
+        }
+
+        UpsertStatements statements = upserts();
+        var byReason = new ArrayList<>(changes.byReason.entrySet());
+        jdbcTemplate.batchUpdate(statements.byReason(), byReason, byReason.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getKey());
+            ps.setLong(2, entry.getValue());
+        });
+        var byDay = new ArrayList<>(changes.byDay.entrySet());
+        jdbcTemplate.batchUpdate(statements.byDay(), byDay, byDay.size(), (ps, entry) -> {
+            ps.setDate(1, Date.valueOf(entry.getKey()));
+            ps.setLong(2, entry.getValue());
+        });
+        var byReasonMonth = new ArrayList<>(changes.byReasonMonth.entrySet());
+        jdbcTemplate.batchUpdate(statements.byReasonMonth(), byReasonMonth, byReasonMonth.size(), (ps, entry) -> {
+            ps.setInt(1, entry.getKey().reasonId());
+            ps.setDate(2, Date.valueOf(entry.getKey().month()));
+            ps.setLong(3, entry.getValue());
+        });
+    }
+
+    private UpsertStatements upserts() {
+        if (upserts == null) {
+            boolean postgres = databaseProduct.isPostgres();
+            upserts = new UpsertStatements(
+                    upsertSql(postgres, REASON_TABLE, "reason_id"),
+                    upsertSql(postgres, DAY_TABLE, "appointment_day"),
+                    upsertSql(postgres, REASON_MONTH_TABLE, "reason_id", "appointment_month"));
+        }
+        return upserts;
+    }
+
+    /**
+     * Adds the bound count to the row of the bound key, creating it if missing.
+     * H2, used by the tests, has no ON CONFLICT DO UPDATE and gets the equivalent MERGE.
+     */
+    private static String upsertSql(boolean postgres, String table, String... keyColumns) {
+        String keys = String.join(", ", keyColumns);
+        String parameters = "?, ".repeat(keyColumns.length) + "?";
+        if (postgres) {
+            return "INSERT INTO " + table + " AS c (" + keys + ", appointment_count) VALUES (" + parameters + ") " +
+                    "ON CONFLICT (" + keys + ") DO UPDATE SET appointment_count = c.appointment_count + EXCLUDED.appointment_count";
+        }
+
+        String matches = Arrays.stream(keyColumns).map(key -> "c." + key + " = d." + key)
+                .collect(Collectors.joining(" AND "));
+        String values = Arrays.stream(keyColumns).map(key -> "d." + key).collect(Collectors.joining(", "));
+        return "MERGE INTO " + table + " c USING (VALUES (" + parameters + ")) d (" + keys + ", appointment_count) " +
+                "ON " + matches + " " +
+                "WHEN MATCHED THEN UPDATE SET appointment_count = c.appointment_count + d.appointment_count " +
+                "WHEN NOT MATCHED THEN INSERT (" + keys + ", appointment_count) VALUES (" + values + ", d.appointment_count)";
+    }
+}
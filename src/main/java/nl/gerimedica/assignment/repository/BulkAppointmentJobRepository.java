@@ -0,0 +1,58 @@
+package nl.gerimedica.assignment.repository;
+
+import jakarta.persistence.QueryHint;
+import nl.gerimedica.assignment.entity.BulkAppointmentJob;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the bulk appointment job outbox.
+ * - Queued jobs are found through the partial idx_bulk_appointment_jobs_queued index
+ * - Drainers lock jobs with SKIP LOCKED, so concurrent drainers on several nodes never wait for or share a job
+ */
+@Repository
+public interface BulkAppointmentJobRepository extends JpaRepository<BulkAppointmentJob, Long> {
+
+    /**
+     * Oldest queued jobs first
+     */
+    @Query("SELECT new nl.gerimedica.assignment.repository.QueuedJob(j.id, j.itemCount) FROM BulkAppointmentJob j " +
+            "WHERE j.status = QUEUED ORDER BY j.id")
+    List<QueuedJob> findQueued(Pageable pageable);
+
+    /**
+     * Lock the given jobs that are still queued, skipping jobs another drainer holds.
+     * The hint is the external form of Hibernate's LockMode.UPGRADE_SKIPLOCKED, rendered as FOR UPDATE SKIP LOCKED.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_LOCK_MODE, value = "upgrade-skiplocked"))
+    @Query("SELECT j FROM BulkAppointmentJob j " +
+            "WHERE j.id IN :ids AND j.status = QUEUED " +
+            "ORDER BY j.id")
+    List<BulkAppointmentJob> lockQueued(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Total number of appointments waiting in queued jobs
+     */
+    @Query("SELECT COALESCE(SUM(j.itemCount), 0) FROM BulkAppointmentJob j " +
+            "WHERE j.status = QUEUED")
+    long countQueuedItems();
+
+    /**
+     * Delete finished jobs completed before the given time
+     *
+     * @return Number of jobs deleted
+     */
+    @Modifying
+    @Query("DELETE FROM BulkAppointmentJob j WHERE j.completedAt < :before")
+    int deleteCompletedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,30 @@
+package nl.gerimedica.assignment.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the repositories that write plain SQL which database they run on.
+ * PostgreSQL gets its native statements; H2, used by the tests and benchmarks, gets the portable equivalents.
+ * The product is read from the connection metadata on first use, so no connection is taken at startup.
+ */
+@Component
+public class DatabaseProduct {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public DatabaseProduct(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equals(product);
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,132 @@
+package nl.gerimedica.assignment.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stored responses of requests sent with an Idempotency-Key, see IdempotencyKey.
+ * - A key is claimed with INSERT ... ON CONFLICT DO NOTHING in the transaction doing the work; a concurrent request
+ *   with the same key waits for that transaction and then finds the key taken, so only one of them does the work
+ * - Completed responses are kept in memory, up to {@code hospital.idempotency.maximum-size}, for
+ *   {@code hospital.idempotency.retention}; older keys are read from the table until they are purged
+ * - Requests are compared by a SHA-256 hash, a key reused for another request does not match
+ */
+@Repository
+public class IdempotencyKeys {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private static final String CLAIM_SQL = "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at) " +
+            "VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<String, StoredResponse> responses;
+
+    /**
+     * @param requestHash SHA-256 of the request
+     * @param response    Response data as JSON
+     */
+    public record StoredResponse(String requestHash, String response) {
+
+        public boolean matches(String request) {
+            return requestHash.equals(hash(request));
+        }
+    }
+
+    public IdempotencyKeys(
+            JdbcTemplate jdbcTemplate,
+            @Value("${hospital.idempotency.maximum-size:10000}") long maximumSize,
+            @Value("${hospital.idempotency.retention:24h}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    /**
+     * Find the completed response of a key.
+     *
+     * @param key The Idempotency-Key
+     * @return The stored response, empty if the key was never completed
+     */
+    public Optional<StoredResponse> find(String key) {
+        StoredResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        List<StoredResponse> found = jdbcTemplate.query(
+                "SELECT request_hash, response FROM idempotency_keys WHERE idempotency_key = ? AND response IS NOT NULL",
+                (rs, rowNum) -> new StoredResponse(rs.getString(1), rs.getString(2)), key);
+        found.forEach(response -> responses.put(key, response));
+        return found.stream().findFirst();
+    }
+
+    /**
+     * Claim a key for the current transaction; waits while another transaction holds it.
+     *
+     * @param key     The Idempotency-Key
+     * @param request The request, in a canonical text form
+     * @return true if the key is now held by the current transaction, false if another request completed it
+     */
+    public boolean claim(String key, String request) {
+        return jdbcTemplate.update(CLAIM_SQL, key, hash(request), Timestamp.valueOf(LocalDateTime.now())) == 1;
+    }
+
+    /**
+     * Store the response of a key claimed by the current transaction; it is replayed once the transaction commits.
+     *
+     * @param key      The Idempotency-Key
+     * @param request  The request, in a canonical text form
+     * @param response Response data as JSON
+     */
+    public void complete(String key, String request, String response) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET response = ? WHERE idempotency_key = ?", response, key);
+
+        StoredResponse stored = new StoredResponse(hash(request), response);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    responses.put(key, stored);
+                }
+            });
+        } else {
+            responses.put(key, stored);
+        }
+    }
+
+    /**
+     * Delete keys claimed before the given time.
+     *
+     * @return Number of keys deleted
+     */
+    public int purgeBefore(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < ?", Timestamp.valueOf(before));
+    }
+
+    private static String hash(String request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(request.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
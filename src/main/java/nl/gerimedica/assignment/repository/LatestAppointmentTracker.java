@@ -0,0 +1,198 @@
+package nl.gerimedica.assignment.repository;
+
+import jakarta.persistence.EntityManager;
+import nl.gerimedica.assignment.config.TransactionBound;
+import nl.gerimedica.assignment.entity.Appointment;
+import nl.gerimedica.assignment.entity.Patient;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+/**
+ * Maintains the denormalized latest-appointment pointer on patients.
+ * - Written appointments only ever move the pointer forward, with a conditional UPDATE that
+ *   PostgreSQL re-evaluates against the committed row, so concurrent writers cannot move it back
+ * - Removing appointments recomputes the pointer from idx_appointments_patient_date
+ * - Every touched patient gets its version incremented, so its ETags change with its appointments
+ * - Changes are collected per transaction and applied once, right before it commits
+ * - The pointer and the appointments change behind Hibernate's back, so the touched patients and their
+ *   appointment collections are evicted from the second-level cache, again once the transaction completes
+ */
+@Repository
+public class LatestAppointmentTracker {
+
+    private static final String ADVANCE_SQL = "UPDATE patients SET latest_appointment_id = ?, latest_appointment_date = ? " +
+            "WHERE id = ? AND (latest_appointment_date IS NULL OR latest_appointment_date < ? " +
+            "OR (latest_appointment_date = ? AND latest_appointment_id < ?))";
+    private static final String BUMP_VERSION_SQL = "UPDATE patients SET version = version + 1 WHERE id = ?";
+    private static final String APPOINTMENTS_ROLE = Patient.class.getName() + ".appointments";
+    private static final String RECOMPUTE_SQL = "UPDATE patients SET (latest_appointment_id, latest_appointment_date) = (" +
+            "SELECT a.id, a.appointment_date FROM appointments a WHERE a.patient_id = patients.id " +
+            "ORDER BY a.appointment_date DESC, a.id DESC LIMIT 1) " +
+            "WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final PatientVersions patientVersions;
+    private final TimeZone jdbcTimeZone;
+    private final TransactionBound<Pending> pendingChanges;
+
+    private record Latest(long appointmentId, LocalDateTime appointmentDate) {
+        boolean isAfter(Latest other) {
+            int byDate = appointmentDate.compareTo(other.appointmentDate);
+            return byDate > 0 || (byDate == 0 && appointmentId > other.appointmentId);
+        }
+    }
+
+    /**
+     * Changes of one transaction
+     */
+    private static final class Pending {
+        private final List<Appointment> persisted = new ArrayList<>();
+        private final Map<Long, Latest> written = new HashMap<>();
+        private final Set<Long> removed = new HashSet<>();
+    }
+
+    public LatestAppointmentTracker(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            PatientVersions patientVersions,
+            @Value("${spring.jpa.properties.hibernate.jdbc.time_zone:UTC}") String jdbcTimeZone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.patientVersions = patientVersions;
+        this.jdbcTimeZone = TimeZone.getTimeZone(jdbcTimeZone);
+        this.pendingChanges = new TransactionBound<>(Pending::new)
+                .beforeCommit(this::apply)
+                // Reads of other transactions may have cached the old state in the meantime
+                .afterCompletion(changes -> {
+                    evict(changes.written.keySet());
+                    evict(changes.removed);
+                });
+    }
+
+    /**
+     * Track an appointment being persisted through JPA; its ID and date are read when the transaction commits.
+     * Outside a transaction nothing is persisted, so nothing is tracked.
+     */
+    public void appointmentPersisted(Appointment appointment) {
+        Pending pending = pendingChanges.get();
+        if (pending != null) {
+            pending.persisted.add(appointment);
+        }
+    }
+
+    /**
+     * Track appointments inserted without JPA, e.g. by AppointmentBatchWriter.
+     */
+    public void appointmentsWritten(Collection<Appointment> appointments) {
+        Pending pending = pendingChanges.get();
+        Map<Long, Latest> latest = pending != null ? pending.written : new HashMap<>();
+        appointments.forEach(appointment -> merge(latest, appointment));
+        if (pending == null) {
+            advance(latest);
+            bumpVersions(latest.keySet());
+            evict(latest.keySet());
+        }
+    }
+
+    /**
+     * Track appointments removed for the given patients; their pointers are recomputed.
+     */
+    public void appointmentsRemoved(Collection<Long> patientIds) {
+        Pending pending = pendingChanges.get();
+        if (pending != null) {
+            pending.removed.addAll(patientIds);
+        } else {
+            recompute(patientIds);
+            bumpVersions(patientIds);
+            evict(patientIds);
+        }
+    }
+
+    private void apply(Pending pending) {
+        // Appointments persisted or removed through JPA reach the database at flush
+        entityManager.flush();
+        pending.persisted.forEach(appointment -> merge(pending.written, appointment));
+
+        // A recomputed pointer already accounts for this transaction's new appointments
+        pending.written.keySet().removeAll(pending.removed);
+        advance(pending.written);
+        recompute(pending.removed);
+        Set<Long> touched = new HashSet<>(pending.written.keySet());
+        touched.addAll(pending.removed);
+        bumpVersions(touched);
+        evict(pending.written.keySet());
+        evict(pending.removed);
+    }
+
+    private void merge(Map<Long, Latest> latest, Appointment appointment) {
+        var candidate = new Latest(appointment.getId(), appointment.getAppointmentDate());
+        latest.merge(appointment.getPatient().getId(), candidate,
+                (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    private void advance(Map<Long, Latest> latest) {
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        // Bind timestamps exactly like Hibernate does with hibernate.jdbc.time_zone set
+        Calendar calendar = Calendar.getInstance(jdbcTimeZone);
+        jdbcTemplate.batchUpdate(ADVANCE_SQL, new ArrayList<>(latest.entrySet()), latest.size(), (ps, entry) -> {
+            Timestamp date = Timestamp.valueOf(entry.getValue().appointmentDate());
+            ps.setLong(1, entry.getValue().appointmentId());
+            ps.setTimestamp(2, date, calendar);
+            ps.setLong(3, entry.getKey());
+            ps.setTimestamp(4, date, calendar);
+            ps.setTimestamp(5, date, calendar);
+            ps.setLong(6, entry.getValue().appointmentId());
+        });
+    }
+
+    private void recompute(Collection<Long> patientIds) {
+        if (patientIds.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(RECOMPUTE_SQL, new ArrayList<>(patientIds), patientIds.size(),
+                (ps, patientId) -> ps.setLong(1, patientId));
+    }
+
+    private void bumpVersions(Collection<Long> patientIds) {
+        if (patientIds.isEmpty()) {
+            return;
+        }
+
+        // Sorted, so concurrent transactions lock the patient rows in the same order
+        List<Long> sorted = patientIds.stream().sorted().toList();
+        jdbcTemplate.batchUpdate(BUMP_VERSION_SQL, sorted, sorted.size(), (ps, patientId) -> ps.setLong(1, patientId));
+    }
+
+    private void evict(Collection<Long> patientIds) {
+        if (patientIds.isEmpty()) {
+            return;
+        }
+
+        patientVersions.invalidate(patientIds);
+
+        Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        for (Long patientId : patientIds) {
+            cache.evictEntityData(Patient.class, patientId);
+            cache.evictCollectionData(APPOINTMENTS_ROLE, patientId);
+        }
+    }
+}
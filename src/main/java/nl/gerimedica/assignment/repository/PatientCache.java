@@ -0,0 +1,89 @@
+package nl.gerimedica.assignment.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import nl.gerimedica.assignment.service.MetricsService;
+import nl.gerimedica.assignment.validation.Ssn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded SSN -> patient cache in front of PatientRepository.
+ * - Entries expire after {@code hospital.patient-cache.ttl} and are evicted beyond {@code maximum-size}
+ * - Only existing patients are cached, an unknown SSN always goes to the database
+ * - A malformed SSN cannot match any stored one and is answered without a query
+ * - Entries are invalidated by PatientCacheListener when a patient is created, updated or deleted
+ */
+@Repository
+public class PatientCache {
+
+    private final PatientRepository patientRepository;
+    private final MetricsService metricsService;
+    private final Cache<String, PatientRow> cache;
+
+    public PatientCache(
+            PatientRepository patientRepository,
+            MetricsService metricsService,
+            @Value("${hospital.patient-cache.maximum-size:10000}") long maximumSize,
+            @Value("${hospital.patient-cache.ttl:10m}") Duration ttl) {
+        this.patientRepository = patientRepository;
+        this.metricsService = metricsService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .removalListener((String ssn, PatientRow patient, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        metricsService.recordPatientCacheEviction();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Find a patient by SSN, reading through to the database on a miss.
+     *
+     * @param ssn The SSN to search for
+     * @return An Optional containing the patient row if found, empty otherwise
+     */
+    public Optional<PatientRow> findBySsn(String ssn) {
+        if (!Ssn.isValid(ssn)) {
+            return Optional.empty();
+        }
+
+        PatientRow cached = cache.getIfPresent(ssn);
+        if (cached != null) {
+            metricsService.recordPatientCacheHit();
+            return Optional.of(cached);
+        }
+
+        metricsService.recordPatientCacheMiss();
+        Optional<PatientRow> patient = patientRepository.findRowBySsn(ssn);
+        patient.ifPresent(found -> cache.put(ssn, found));
+        return patient;
+    }
+
+    /**
+     * Drop the entry of an SSN now and, inside a transaction, again once it completes,
+     * so a concurrent read of the old row cannot outlive the change.
+     *
+     * @param ssn The SSN whose entry is stale
+     */
+    public void invalidate(String ssn) {
+        cache.invalidate(ssn);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(ssn);
+                }
+            });
+        }
+    }
+}
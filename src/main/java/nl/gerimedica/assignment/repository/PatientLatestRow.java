@@ -0,0 +1,17 @@
+package nl.gerimedica.assignment.repository;
+
+import nl.gerimedica.assignment.dto.AppointmentDTO;
+import nl.gerimedica.assignment.dto.PatientSummary;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read projection of a patient with its latest appointment, whose fields are null if it has none
+ */
+public record PatientLatestRow(long id, String name, String ssn, String latestReason, LocalDateTime latestDate) {
+
+    public PatientSummary toSummary() {
+        AppointmentDTO latest = latestDate == null ? null : new AppointmentDTO(latestReason, latestDate, name, ssn);
+        return new PatientSummary(name, ssn, latest);
+    }
+}
@@ -0,0 +1,30 @@
+package nl.gerimedica.assignment.repository;
+
+import nl.gerimedica.assignment.entity.Patient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Patient lookups by the SSN natural ID, served from the second-level cache when possible:
+ * the SSN resolves to an ID through the patients-by-ssn region and the patient through the patients region
+ */
+public interface PatientNaturalIdLookup {
+
+    /**
+     * Load the patient with the given SSN
+     *
+     * @param ssn The SSN to search for
+     * @return An Optional containing the patient if found, empty otherwise
+     */
+    Optional<Patient> loadBySsn(String ssn);
+
+    /**
+     * Load the patients with the given SSNs together, in batches of up to 500 SSNs
+     *
+     * @param ssns The SSNs to search for
+     * @return The patients found, in no particular order
+     */
+    List<Patient> loadAllBySsn(Collection<String> ssns);
+}
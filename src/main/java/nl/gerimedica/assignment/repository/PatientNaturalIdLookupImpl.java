@@ -0,0 +1,44 @@
+package nl.gerimedica.assignment.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import nl.gerimedica.assignment.entity.Patient;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Hibernate natural-ID implementation of {@link PatientNaturalIdLookup}, mixed into PatientRepository
+ */
+class PatientNaturalIdLookupImpl implements PatientNaturalIdLookup {
+
+    private static final int MULTI_LOAD_BATCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Patient> loadBySsn(String ssn) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Patient.class)
+                .loadOptional(ssn);
+    }
+
+    @Override
+    public List<Patient> loadAllBySsn(Collection<String> ssns) {
+        // Hibernate's multi natural-ID loader binds the SSNs as an array without applying SsnConverter,
+        // so the batches are loaded by query; the loaded patients still populate the cache regions
+        List<String> distinct = List.copyOf(Set.copyOf(ssns));
+        List<Patient> patients = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += MULTI_LOAD_BATCH_SIZE) {
+            patients.addAll(entityManager.createQuery("SELECT p FROM Patient p WHERE p.ssn IN :ssns", Patient.class)
+                    .setParameter("ssns", distinct.subList(from, Math.min(from + MULTI_LOAD_BATCH_SIZE, distinct.size())))
+                    .getResultList());
+        }
+        return patients;
+    }
+}
@@ -2,17 +2,22 @@ package nl.gerimedica.assignment.repository;
 
 import nl.gerimedica.assignment.entity.Patient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for Patient entity with added query methods.
  * - Added methods to find and check patients by SSN to avoid inefficient full table scans
  * - Leveraging Spring Data JPA's derived query methods for optimized database access
+ * - Natural-ID loads through the second-level cache, see {@link PatientNaturalIdLookup}
  */
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, Long> {
+public interface PatientRepository extends JpaRepository<Patient, Long>, PatientNaturalIdLookup {
     /**
      * Find a patient by their SSN (Social Security Number).
      *
@@ -21,6 +26,38 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
      */
     Optional<Patient> findBySsn(String ssn);
 
+    /**
+     * Find a patient by SSN as a read projection, without loading the entity.
+     *
+     * @param ssn The SSN to search for
+     * @return An Optional containing the patient row if found, empty otherwise
+     */
+    @Query("SELECT new nl.gerimedica.assignment.repository.PatientRow(p.id, p.name, p.ssn) FROM Patient p WHERE p.ssn = :ssn")
+    Optional<PatientRow> findRowBySsn(@Param("ssn") String ssn);
+
+    /**
+     * Find patients with one of the given SSNs as read projections, in a single query.
+     *
+     * @param ssns The SSNs to search for
+     * @return The patient rows found, in no particular order
+     */
+    @Query("SELECT new nl.gerimedica.assignment.repository.PatientRow(p.id, p.name, p.ssn) FROM Patient p WHERE p.ssn IN :ssns")
+    List<PatientRow> findRowsBySsnIn(@Param("ssns") Collection<String> ssns);
+
+    /**
+     * Find patients with one of the given SSNs together with their latest appointment, in a single query.
+     * The latest appointment is joined through the patient's latest-appointment pointer, a primary key lookup
+     * per patient instead of a lateral or window query over its appointments.
+     *
+     * @param ssns The SSNs to search for
+     * @return The patient rows found, in no particular order
+     */
+    @Query("SELECT new nl.gerimedica.assignment.repository.PatientLatestRow(p.id, p.name, p.ssn, a.reason, a.appointmentDate) " +
+            "FROM Patient p LEFT JOIN Appointment a " +
+            "ON a.id = p.latestAppointmentId AND a.appointmentDate = p.latestAppointmentDate " +
+            "WHERE p.ssn IN :ssns")
+    List<PatientLatestRow> findLatestRowsBySsnIn(@Param("ssns") Collection<String> ssns);
+
     /**
      * Check if a patient with the given SSN exists.
      * More efficient than findBySsn when only existence check is needed.
@@ -0,0 +1,13 @@
+package nl.gerimedica.assignment.repository;
+
+import nl.gerimedica.assignment.dto.PatientDTO;
+
+/**
+ * Read projection of a patient: the DTO fields plus the ID used to reference the patient
+ */
+public record PatientRow(long id, String name, String ssn) {
+
+    public PatientDTO toDto() {
+        return new PatientDTO(name, ssn);
+    }
+}
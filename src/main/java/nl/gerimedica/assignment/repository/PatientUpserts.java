@@ -0,0 +1,104 @@
+package nl.gerimedica.assignment.repository;
+
+import jakarta.persistence.EntityManager;
+import nl.gerimedica.assignment.entity.Patient;
+import nl.gerimedica.assignment.validation.Ssn;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resolves patients by SSN, creating the missing ones, in one atomic statement per call.
+ * - On PostgreSQL: INSERT ... ON CONFLICT (ssn) DO UPDATE ... RETURNING id. A writer racing another for a new SSN
+ *   waits for it and gets the row it inserted, instead of failing on the unique constraint
+ * - H2, used by the tests, has no ON CONFLICT DO UPDATE and gets the equivalent MERGE followed by a SELECT
+ * - Existing patients keep their name; IDs come from the pooled sequence generator Hibernate uses
+ * - SSNs are upserted in order, so writers of overlapping SSNs cannot deadlock
+ */
+@Repository
+public class PatientUpserts {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO patients (id, name, ssn, version) " +
+                    "SELECT id, name, ssn, 0 FROM unnest(?::bigint[], ?::varchar[], ?::integer[]) AS p (id, name, ssn) " +
+                    "ON CONFLICT (ssn) DO UPDATE SET ssn = EXCLUDED.ssn RETURNING id, ssn";
+    private static final String MERGE_SQL =
+            "MERGE INTO patients p USING (VALUES (?, ?, ?)) d (id, name, ssn) ON p.ssn = d.ssn " +
+                    "WHEN NOT MATCHED THEN INSERT (id, name, ssn, version) VALUES (d.id, d.name, d.ssn, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final DatabaseProduct databaseProduct;
+
+    public PatientUpserts(JdbcTemplate jdbcTemplate, EntityManager entityManager, DatabaseProduct databaseProduct) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.databaseProduct = databaseProduct;
+    }
+
+    /**
+     * Find or create the patients with the given SSNs within the current transaction.
+     *
+     * @param namesBySsn Name to create each missing patient with, by valid SSN
+     * @return Patient IDs by SSN, one for every given SSN
+     */
+    public Map<String, Long> upsertAll(Map<String, String> namesBySsn) {
+        if (namesBySsn.isEmpty()) {
+            return Map.of();
+        }
+
+        // Pending entity changes, e.g. a patient saved earlier in this transaction, must be visible to the statement
+        entityManager.flush();
+        Map<Integer, String> sorted = new TreeMap<>();
+        namesBySsn.forEach((ssn, name) -> sorted.put(Ssn.parse(ssn), name));
+        List<Long> ids = nextIds(sorted.size());
+
+        Map<String, Long> idsBySsn = new HashMap<>();
+        if (databaseProduct.isPostgres()) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(UPSERT_SQL);
+                ps.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+                ps.setArray(2, connection.createArrayOf("varchar", sorted.values().toArray()));
+                ps.setArray(3, connection.createArrayOf("integer", sorted.keySet().toArray()));
+                return ps;
+            }, (RowCallbackHandler) rs -> idsBySsn.put(Ssn.format(rs.getInt(2)), rs.getLong(1)));
+            return idsBySsn;
+        }
+
+        List<Object[]> rows = new ArrayList<>(sorted.size());
+        int i = 0;
+        for (Map.Entry<Integer, String> patient : sorted.entrySet()) {
+            rows.add(new Object[]{ids.get(i++), patient.getValue(), patient.getKey()});
+        }
+        jdbcTemplate.batchUpdate(MERGE_SQL, rows);
+        String parameters = String.join(", ", Collections.nCopies(sorted.size(), "?"));
+        jdbcTemplate.query("SELECT id, ssn FROM patients WHERE ssn IN (" + parameters + ")",
+                (RowCallbackHandler) rs -> idsBySsn.put(Ssn.format(rs.getInt(2)), rs.getLong(1)),
+                sorted.keySet().toArray());
+        return idsBySsn;
+    }
+
+    private List<Long> nextIds(int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory()
+                .getMappingMetamodel()
+                .getEntityDescriptor(Patient.class)
+                .getGenerator();
+
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add((Long) generator.generate(session, null));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,65 @@
+package nl.gerimedica.assignment.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Change versions of patients, used to answer conditional requests without loading any entity.
+ * - Reads only the version column of one patient row
+ * - Versions read recently are kept in memory for {@code hospital.etag.version-ttl}; changes made on this node
+ *   invalidate them right away, changes made by other nodes are seen once the entry expires
+ */
+@Repository
+public class PatientVersions {
+
+    private static final String SELECT_VERSION_SQL = "SELECT version FROM patients WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<Long, Long> versions;
+
+    public PatientVersions(
+            JdbcTemplate jdbcTemplate,
+            @Value("${hospital.etag.maximum-size:10000}") long maximumSize,
+            @Value("${hospital.etag.version-ttl:1s}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Get the current version of a patient.
+     *
+     * @param patientId ID of the patient
+     * @return The version, empty if the patient does not exist
+     */
+    public OptionalLong versionOf(long patientId) {
+        Long cached = versions.getIfPresent(patientId);
+        if (cached != null) {
+            return OptionalLong.of(cached);
+        }
+
+        List<Long> found = jdbcTemplate.queryForList(SELECT_VERSION_SQL, Long.class, patientId);
+        if (found.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        versions.put(patientId, found.get(0));
+        return OptionalLong.of(found.get(0));
+    }
+
+    /**
+     * Drop the versions of patients that were just changed.
+     */
+    public void invalidate(Collection<Long> patientIds) {
+        versions.invalidateAll(patientIds);
+    }
+}
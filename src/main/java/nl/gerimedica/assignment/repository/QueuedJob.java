@@ -0,0 +1,7 @@
+package nl.gerimedica.assignment.repository;
+
+/**
+ * Read projection of a queued bulk appointment job, enough to size a drain batch
+ */
+public record QueuedJob(long id, int itemCount) {
+}
@@ -0,0 +1,195 @@
+package nl.gerimedica.assignment.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.gerimedica.assignment.config.TransactionBound;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process bidirectional cache of the reasons dictionary (reason text <-> integer ID).
+ * - Appointments store the ID, the cache translates at the persistence edge via ReasonConverter
+ * - Case-insensitive reason searches resolve to dictionary entries in memory, so the database only compares integers
+ * - Unknown reasons are registered on write; an entry becomes visible to other threads once its transaction commits
+ */
+@Slf4j
+@Repository
+public class ReasonDictionary {
+
+    private static final String INSERT_SQL = "INSERT INTO reasons (name) VALUES (?) ON CONFLICT DO NOTHING";
+    private static final String SELECT_ID_SQL = "SELECT id FROM reasons WHERE name = ?";
+    private static final String SELECT_NAME_SQL = "SELECT name FROM reasons WHERE id = ?";
+    private static final String SELECT_ALL_SQL = "SELECT id, name FROM reasons";
+    private static final String SELECT_IGNORE_CASE_SQL = "SELECT id, name FROM reasons WHERE lower(name) = lower(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long refreshIntervalNanos;
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> namesByLowerName = new ConcurrentHashMap<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    /**
+     * Reasons inserted by the current transaction, published to the cache after it commits
+     */
+    private final TransactionBound<Map<String, Integer>> pendingRegistrations;
+    private volatile long lastRefresh;
+    private volatile boolean loaded;
+
+    public ReasonDictionary(
+            JdbcTemplate jdbcTemplate,
+            @Value("${hospital.reasons.refresh-interval:5s}") Duration refreshInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.pendingRegistrations = new TransactionBound<Map<String, Integer>>(HashMap::new)
+                .afterCommit(registrations -> registrations.forEach((name, id) -> put(id, name)));
+    }
+
+    /**
+     * Get the ID of a reason, registering it in the current transaction if it is new.
+     *
+     * @param name Exact reason text
+     * @return Dictionary ID
+     */
+    public int idOf(String name) {
+        Integer id = idsByName.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        Map<String, Integer> pending = pendingRegistrations.get();
+        if (pending != null && (id = pending.get(name)) != null) {
+            return id;
+        }
+
+        id = findId(name);
+        if (id == null) {
+            int inserted = jdbcTemplate.update(INSERT_SQL, name);
+            id = findId(name);
+            if (inserted == 1 && pending != null) {
+                // Only cached after commit, a rollback must not leave a dangling ID behind
+                pending.put(name, id);
+                return id;
+            }
+        }
+
+        put(id, name);
+        return id;
+    }
+
+    /**
+     * Get the text of a reason ID.
+     *
+     * @param id Dictionary ID
+     * @return Exact reason text
+     * @throws IllegalStateException if the ID is unknown
+     */
+    public String nameOf(int id) {
+        String name = namesById.get(id);
+        if (name != null) {
+            return name;
+        }
+
+        Map<String, Integer> pending = pendingRegistrations.peek();
+        if (pending != null) {
+            for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+                if (entry.getValue() == id) {
+                    return entry.getKey();
+                }
+            }
+        }
+
+        List<String> names = jdbcTemplate.queryForList(SELECT_NAME_SQL, String.class, id);
+        if (names.isEmpty()) {
+            throw new IllegalStateException("Unknown reason id: " + id);
+        }
+        put(id, names.get(0));
+        return names.get(0);
+    }
+
+    /**
+     * Find all registered spellings of a reason, ignoring case.
+     *
+     * @param reason Reason to look up
+     * @return Exact reason texts equal to the given one ignoring case, empty if none
+     */
+    public List<String> namesEqualIgnoreCase(String reason) {
+        refreshIfStale();
+        Set<String> names = namesByLowerName.get(reason.toLowerCase(Locale.ROOT));
+        if (names != null) {
+            return List.copyOf(names);
+        }
+
+        // Possibly registered on another node since the last refresh
+        jdbcTemplate.query(SELECT_IGNORE_CASE_SQL, rs -> {
+            put(rs.getInt("id"), rs.getString("name"));
+        }, reason);
+        names = namesByLowerName.get(reason.toLowerCase(Locale.ROOT));
+        return names == null ? List.of() : List.copyOf(names);
+    }
+
+    /**
+     * Find all reasons containing the keyword, ignoring case.
+     *
+     * @param keyword Keyword to search for
+     * @return Exact reason texts containing the keyword, empty if none
+     */
+    public List<String> namesContainingIgnoreCase(String keyword) {
+        refreshIfStale();
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        return namesByLowerName.entrySet().stream()
+                .filter(entry -> entry.getKey().contains(lowerKeyword))
+                .flatMap(entry -> entry.getValue().stream())
+                .toList();
+    }
+
+    private Integer findId(String name) {
+        List<Integer> ids = jdbcTemplate.queryForList(SELECT_ID_SQL, Integer.class, name);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    private void put(int id, String name) {
+        idsByName.put(name, id);
+        namesById.put(id, name);
+        namesByLowerName.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> ConcurrentHashMap.newKeySet())
+                .add(name);
+    }
+
+    /**
+     * Reloads the whole dictionary when it is older than the refresh interval.
+     * The table only holds a few hundred rows, so a full reload also picks up IDs committed out of order.
+     */
+    private void refreshIfStale() {
+        if (loaded && System.nanoTime() - lastRefresh < refreshIntervalNanos) {
+            return;
+        }
+        if (!refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            Map<String, Integer> pending = pendingRegistrations.peek();
+            jdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+                String name = rs.getString("name");
+                if (pending == null || !pending.containsKey(name)) {
+                    put(rs.getInt("id"), name);
+                }
+            });
+            lastRefresh = System.nanoTime();
+            if (!loaded) {
+                loaded = true;
+                log.info("Loaded {} reasons into the dictionary cache", namesById.size());
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
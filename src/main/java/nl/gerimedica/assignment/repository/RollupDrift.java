@@ -0,0 +1,15 @@
+package nl.gerimedica.assignment.repository;
+
+/**
+ * Number of rollup rows whose count differs from the appointments table
+ *
+ * @param reasons      Mismatching rows of appointment_counts_by_reason
+ * @param days         Mismatching rows of appointment_counts_by_day
+ * @param reasonMonths Mismatching rows of appointment_counts_by_reason_month
+ */
+public record RollupDrift(int reasons, int days, int reasonMonths) {
+
+    public boolean isEmpty() {
+        return reasons == 0 && days == 0 && reasonMonths == 0;
+    }
+}
@@ -0,0 +1,142 @@
+package nl.gerimedica.assignment.service;
+
+import lombok.RequiredArgsConstructor;
+import nl.gerimedica.assignment.audit.AuditLog;
+import nl.gerimedica.assignment.config.ReplicaRouting;
+import nl.gerimedica.assignment.entity.Appointment;
+import nl.gerimedica.assignment.entity.Patient;
+import nl.gerimedica.assignment.repository.AppointmentBatchWriter;
+import nl.gerimedica.assignment.repository.AppointmentRepository;
+import nl.gerimedica.assignment.repository.AppointmentStatisticsTracker;
+import nl.gerimedica.assignment.repository.LatestAppointmentTracker;
+import nl.gerimedica.assignment.repository.PatientRepository;
+import nl.gerimedica.assignment.repository.PatientRow;
+import nl.gerimedica.assignment.repository.PatientUpserts;
+import nl.gerimedica.assignment.validation.Ssn;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes one bounded chunk of appointment changes, spanning any number of patients,
+ * in its own transaction
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentChunkWriter {
+    private final PatientRepository patientRepository;
+    private final PatientUpserts patientUpserts;
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentBatchWriter appointmentBatchWriter;
+    private final LatestAppointmentTracker latestAppointmentTracker;
+    private final AppointmentStatisticsTracker appointmentStatisticsTracker;
+    private final AuditLog auditLog;
+    private final ReplicaRouting replicaRouting;
+
+    /**
+     * A validated appointment line ready to be written
+     */
+    public record Line(
+            long lineNumber,
+            String patientName,
+            String ssn,
+            String reason,
+            LocalDateTime appointmentDate
+    ) {}
+
+    /**
+     * Outcome of deleting the appointments of one chunk of SSNs
+     *
+     * @param patientsFound Number of SSNs that matched a patient
+     * @param deleted       Number of appointments deleted
+     * @param notFound      SSNs without a patient
+     */
+    public record DeletedChunk(int patientsFound, int deleted, List<String> notFound) {}
+
+    /**
+     * Resolves the patients of the chunk with one query, creates the missing ones with one upsert and
+     * batch-inserts all appointments
+     *
+     * @param lines Validated lines of this chunk
+     * @return The given lines whose appointment was inserted, as the same instances in the given order;
+     * lines for appointments the patient already had are skipped
+     */
+    @Transactional
+    public List<Line> writeChunk(List<Line> lines) {
+        Set<String> ssns = lines.stream()
+                .map(Line::ssn)
+                .collect(Collectors.toSet());
+
+        Map<String, Patient> patientsBySsn = new HashMap<>();
+        patientRepository.loadAllBySsn(ssns)
+                .forEach(patient -> patientsBySsn.put(patient.getSsn(), patient));
+
+        // Missing patients are upserted, so a concurrent chunk or request creating the same SSN cannot fail this one
+        Map<String, String> newPatientNames = new HashMap<>();
+        for (Line line : lines) {
+            if (!patientsBySsn.containsKey(line.ssn())) {
+                newPatientNames.putIfAbsent(line.ssn(), line.patientName());
+            }
+        }
+        if (!newPatientNames.isEmpty()) {
+            patientRepository.findAllById(patientUpserts.upsertAll(newPatientNames).values())
+                    .forEach(patient -> patientsBySsn.put(patient.getSsn(), patient));
+        }
+
+        List<Appointment> appointments = new ArrayList<>(lines.size());
+        for (Line line : lines) {
+            appointments.add(new Appointment(line.reason(), line.appointmentDate(), patientsBySsn.get(line.ssn())));
+        }
+
+        List<Appointment> inserted = appointmentBatchWriter.insertAll(appointments);
+        ssns.forEach(replicaRouting::recordWrite);
+        inserted.forEach(appointment -> auditLog.appointmentCreated(
+                appointment.getPatient().getSsn(), appointment.getReason(), appointment.getAppointmentDate()));
+
+        // The inserted appointments are a subsequence of the appointments, which follow the lines
+        List<Line> insertedLines = new ArrayList<>(inserted.size());
+        for (int i = 0, next = 0; i < lines.size() && next < inserted.size(); i++) {
+            if (appointments.get(i) == inserted.get(next)) {
+                insertedLines.add(lines.get(i));
+                next++;
+            }
+        }
+        return insertedLines;
+    }
+
+    /**
+     * Resolves the patients of the chunk with one query and deletes all their appointments with one statement.
+     * Every matched patient gets an audit record with the number of appointments deleted.
+     *
+     * @param ssns Distinct SSNs of this chunk, malformed ones are reported as without a patient
+     * @return Matched patients, deleted appointments and the SSNs without a patient
+     */
+    @Transactional
+    public DeletedChunk deleteChunk(List<String> ssns) {
+        List<String> wellFormed = ssns.stream().filter(Ssn::isValid).toList();
+        List<PatientRow> patients = wellFormed.isEmpty() ? List.of() : patientRepository.findRowsBySsnIn(wellFormed);
+
+        Set<String> found = patients.stream()
+                .map(PatientRow::ssn)
+                .collect(Collectors.toSet());
+        List<String> notFound = ssns.stream()
+                .filter(ssn -> !found.contains(ssn))
+                .toList();
+
+        List<Long> patientIds = patients.stream().map(PatientRow::id).toList();
+        Map<Long, Long> removing = appointmentStatisticsTracker.appointmentsRemoving(patientIds);
+        int deleted = patientIds.isEmpty() ? 0 : appointmentRepository.deleteAllByPatientIdIn(patientIds);
+        latestAppointmentTracker.appointmentsRemoved(patientIds);
+        found.forEach(replicaRouting::recordWrite);
+        patients.forEach(patient -> auditLog.appointmentsDeleted(patient.ssn(), removing.getOrDefault(patient.id(), 0L)));
+
+        return new DeletedChunk(patients.size(), deleted, notFound);
+    }
+}
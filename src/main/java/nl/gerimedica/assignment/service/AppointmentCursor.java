@@ -0,0 +1,32 @@
+package nl.gerimedica.assignment.service;
+
+import nl.gerimedica.assignment.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position (appointment_date, id) of the last appointment on a page,
+ * exchanged with clients as an opaque URL-safe token
+ */
+record AppointmentCursor(LocalDateTime appointmentDate, long id) {
+
+    String encode() {
+        String raw = appointmentDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static AppointmentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new AppointmentCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package nl.gerimedica.assignment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import nl.gerimedica.assignment.dto.AppointmentImportLine;
+import nl.gerimedica.assignment.dto.ImportLineError;
+import nl.gerimedica.assignment.dto.ImportResult;
+import nl.gerimedica.assignment.exception.BadRequestException;
+import nl.gerimedica.assignment.validation.IsoDateTime;
+import nl.gerimedica.assignment.validation.Ssn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Streaming import of appointments for many patients
+ * <p>
+ * The request body is read line by line (NDJSON or CSV), so only the current chunk is held in memory.
+ * Every chunk is committed separately by {@link AppointmentChunkWriter}; invalid lines are skipped and reported.
+ */
+@Service
+@Slf4j
+public class AppointmentImportService {
+    private static final String CSV_HEADER = "patientName,ssn,reason,date";
+
+    private final AppointmentChunkWriter chunkWriter;
+    private final MetricsService metricsService;
+    private final ObjectReader lineReader;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public AppointmentImportService(
+            AppointmentChunkWriter chunkWriter,
+            MetricsService metricsService,
+            ObjectMapper objectMapper,
+            @Value("${hospital.import.chunk-size:1000}") int chunkSize,
+            @Value("${hospital.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.chunkWriter = chunkWriter;
+        this.metricsService = metricsService;
+        this.lineReader = objectMapper.readerFor(AppointmentImportLine.class);
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Import newline-delimited JSON, one {@link AppointmentImportLine} object per line
+     *
+     * @param body Request body stream
+     * @return Import summary with per-line errors
+     */
+    public ImportResult importNdjson(InputStream body) {
+        return importLines(body, this::parseJsonLine, false);
+    }
+
+    /**
+     * Import CSV rows in the column order patientName,ssn,reason,date; a header row is optional
+     *
+     * @param body Request body stream
+     * @return Import summary with per-line errors
+     */
+    public ImportResult importCsv(InputStream body) {
+        return importLines(body, this::parseCsvLine, true);
+    }
+
+    private ImportResult importLines(InputStream body, Function<String, AppointmentImportLine> parser, boolean csv) {
+        var progress = new ImportProgress();
+        List<AppointmentChunkWriter.Line> chunk = new ArrayList<>(chunkSize);
+
+        try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String text;
+            long lineNumber = 0;
+
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank() || (csv && lineNumber == 1 && text.trim().equalsIgnoreCase(CSV_HEADER))) {
+                    continue;
+                }
+
+                progress.linesRead++;
+                try {
+                    chunk.add(validate(lineNumber, parser.apply(text)));
+                } catch (BadRequestException e) {
+                    progress.fail(lineNumber, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, progress);
+                }
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to read import body: " + e.getMessage());
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, progress);
+        }
+
+        log.info("Import finished: {} lines read, {} imported, {} failed in {} chunks",
+                progress.linesRead, progress.imported, progress.failed, progress.chunks);
+        return progress.toResult();
+    }
+
+    private void writeChunk(List<AppointmentChunkWriter.Line> chunk, ImportProgress progress) {
+        try {
+            int imported = chunkWriter.writeChunk(chunk).size();
+            progress.imported += imported;
+            metricsService.recordAppointmentsCreated(imported);
+        } catch (DataAccessException e) {
+            log.error("Import chunk rejected by database", e);
+            chunk.forEach(line -> progress.fail(line.lineNumber(), "Chunk rejected by database"));
+        }
+
+        progress.chunks++;
+        chunk.clear();
+        log.info("Import progress: {} lines read, {} imported, {} failed",
+                progress.linesRead, progress.imported, progress.failed);
+    }
+
+    private AppointmentChunkWriter.Line validate(long lineNumber, AppointmentImportLine line) {
+        if (line.patientName() == null || line.patientName().isBlank()) {
+            throw new BadRequestException("Patient name is required");
+        }
+        if (!Ssn.isValid(line.ssn())) {
+            throw new BadRequestException(Ssn.FORMAT_MESSAGE);
+        }
+        if (line.reason() == null || line.reason().isBlank()) {
+            throw new BadRequestException("Reason is required");
+        }
+        if (line.date() == null) {
+            throw new BadRequestException("Appointment date is required");
+        }
+
+        LocalDateTime appointmentDate = IsoDateTime.parse(line.date());
+        if (appointmentDate == null) {
+            throw new BadRequestException(IsoDateTime.FORMAT_MESSAGE + ": " + line.date());
+        }
+
+        return new AppointmentChunkWriter.Line(
+                lineNumber, line.patientName(), line.ssn(), line.reason(), appointmentDate);
+    }
+
+    private AppointmentImportLine parseJsonLine(String text) {
+        AppointmentImportLine line;
+        try {
+            line = lineReader.readValue(text);
+        } catch (IOException e) {
+            throw new BadRequestException("Malformed JSON line");
+        }
+        // A line holding only the JSON literal null parses without error
+        if (line == null) {
+            throw new BadRequestException("Malformed JSON line");
+        }
+        return line;
+    }
+
+    /**
+     * Parses one CSV row; fields may be double-quoted, with "" as an escaped quote
+     */
+    private AppointmentImportLine parseCsvLine(String text) {
+        List<String> fields = new ArrayList<>(4);
+        var field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+
+        if (fields.size() != 4) {
+            throw new BadRequestException("Expected 4 columns (" + CSV_HEADER + ") but found " + fields.size());
+        }
+        return new AppointmentImportLine(fields.get(0), fields.get(1), fields.get(2), fields.get(3));
+    }
+
+    /**
+     * Running totals of one import; only the first maxReportedErrors errors are kept
+     */
+    private class ImportProgress {
+        private long linesRead;
+        private long imported;
+        private long failed;
+        private int chunks;
+        private final List<ImportLineError> errors = new ArrayList<>();
+
+        private void fail(long lineNumber, String message) {
+            failed++;
+            metricsService.recordImportLinesFailed(1);
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportLineError(lineNumber, message));
+            }
+        }
+
+        private ImportResult toResult() {
+            return new ImportResult(linesRead, imported, failed, chunks, errors, failed > errors.size());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package nl.gerimedica.assignment.service;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import nl.gerimedica.assignment.dto.DayCount;
+import nl.gerimedica.assignment.dto.ReasonCount;
+import nl.gerimedica.assignment.dto.ReasonMonthCount;
+import nl.gerimedica.assignment.dto.StatisticsReconciliation;
+import nl.gerimedica.assignment.exception.BadRequestException;
+import nl.gerimedica.assignment.repository.AppointmentStatisticsRepository;
+import nl.gerimedica.assignment.repository.ReasonDictionary;
+import nl.gerimedica.assignment.repository.RollupDrift;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Appointment statistics served from the count rollups, never from the appointments table.
+ * The rollups are written by AppointmentStatisticsTracker; {@link #reconcile(boolean)} checks them against
+ * the appointments and optionally rebuilds them, exporting the mismatches found as {@code hospital.statistics.drift}.
+ */
+@Service
+@Timed(value = "hospital.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
+@Slf4j
+public class AppointmentStatisticsService {
+
+    private final AppointmentStatisticsRepository statisticsRepository;
+    private final ReasonDictionary reasonDictionary;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate rebuildTransaction;
+    private final AtomicInteger reasonDrift = new AtomicInteger();
+    private final AtomicInteger dayDrift = new AtomicInteger();
+    private final AtomicInteger reasonMonthDrift = new AtomicInteger();
+    private final Counter rebuilds;
+
+    public AppointmentStatisticsService(
+            AppointmentStatisticsRepository statisticsRepository,
+            ReasonDictionary reasonDictionary,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.statisticsRepository = statisticsRepository;
+        this.reasonDictionary = reasonDictionary;
+
+        // Appointments and rollups commit together, so one snapshot always sees them consistent
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+
+        driftGauge(meterRegistry, "reason", reasonDrift);
+        driftGauge(meterRegistry, "day", dayDrift);
+        driftGauge(meterRegistry, "reason-month", reasonMonthDrift);
+        this.rebuilds = Counter.builder("hospital.statistics.rebuilds")
+                .description("Number of times the appointment count rollups were rebuilt")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the number of appointments per reason, most frequent first
+     */
+    @Transactional(readOnly = true)
+    public List<ReasonCount> getReasonCounts() {
+        return statisticsRepository.findReasonCounts().stream()
+                .map(count -> new ReasonCount(reasonDictionary.nameOf(count.getReasonId()), count.getAppointmentCount()))
+                .toList();
+    }
+
+    /**
+     * Get the number of appointments per day, for the days with appointments
+     *
+     * @param from First day (ISO date), inclusive
+     * @param to   Last day (ISO date), exclusive
+     * @throws BadRequestException if a day is malformed or the range is empty
+     */
+    @Transactional(readOnly = true)
+    public List<DayCount> getDayCounts(String from, String to) {
+        LocalDate fromDay = parse("from", from, LocalDate::parse);
+        LocalDate toDay = parse("to", to, LocalDate::parse);
+        if (!fromDay.isBefore(toDay)) {
+            throw new BadRequestException("Range start must be before its end: " + from + " - " + to);
+        }
+
+        return statisticsRepository.findDayCounts(fromDay, toDay).stream()
+                .map(count -> new DayCount(count.getAppointmentDay(), count.getAppointmentCount()))
+                .toList();
+    }
+
+    /**
+     * Get the number of appointments per reason and month, by month and then most frequent first
+     *
+     * @param reason Reason to count, ignoring case, or null for all reasons
+     * @param from   First month (yyyy-MM), inclusive
+     * @param to     Last month (yyyy-MM), exclusive
+     * @throws BadRequestException if a month is malformed or the range is empty
+     */
+    @Transactional(readOnly = true)
+    public List<ReasonMonthCount> getReasonMonthCounts(String reason, String from, String to) {
+        YearMonth fromMonth = parse("from", from, YearMonth::parse);
+        YearMonth toMonth = parse("to", to, YearMonth::parse);
+        if (!fromMonth.isBefore(toMonth)) {
+            throw new BadRequestException("Range start must be before its end: " + from + " - " + to);
+        }
+
+        List<Integer> reasonIds = null;
+        if (reason != null) {
+            reasonIds = reasonDictionary.namesEqualIgnoreCase(reason).stream()
+                    .map(reasonDictionary::idOf)
+                    .toList();
+            if (reasonIds.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return statisticsRepository.findReasonMonthCounts(reasonIds, fromMonth.atDay(1), toMonth.atDay(1)).stream()
+                .map(count -> new ReasonMonthCount(
+                        reasonDictionary.nameOf(count.getReasonId()),
+                        YearMonth.from(count.getAppointmentMonth()),
+                        count.getAppointmentCount()))
+                .toList();
+    }
+
+    /**
+     * Check the rollups against the appointments table, both read from one snapshot
+     *
+     * @param repair Rebuild the rollups when any count differs
+     * @return Mismatches found, and whether the rollups were rebuilt
+     */
+    public StatisticsReconciliation reconcile(boolean repair) {
+        RollupDrift drift = snapshotTransaction.execute(status -> statisticsRepository.findDrift());
+        reasonDrift.set(drift.reasons());
+        dayDrift.set(drift.days());
+        reasonMonthDrift.set(drift.reasonMonths());
+
+        if (drift.isEmpty()) {
+            log.info("Appointment count rollups match the appointments");
+            return new StatisticsReconciliation(0, 0, 0, false);
+        }
+
+        log.warn("Appointment count rollups drifted: {} reasons, {} days, {} reason-months differ",
+                drift.reasons(), drift.days(), drift.reasonMonths());
+        if (repair) {
+            rebuildTransaction.executeWithoutResult(status -> statisticsRepository.rebuild());
+            rebuilds.increment();
+            log.info("Rebuilt appointment count rollups from the appointments");
+        }
+        return new StatisticsReconciliation(drift.reasons(), drift.days(), drift.reasonMonths(), repair);
+    }
+
+    private static <T> T parse(String name, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid date format for " + name + ": " + value);
+        }
+    }
+
+    private static void driftGauge(MeterRegistry meterRegistry, String rollup, AtomicInteger drift) {
+        Gauge.builder("hospital.statistics.drift", drift, AtomicInteger::get)
+                .description("Rollup rows that differed from the appointments at the last reconciliation")
+                .tag("rollup", rollup)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,112 @@
+package nl.gerimedica.assignment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Drains the bulk appointment outbox on {@code hospital.async-bulk.poll-interval}
+ * <p>
+ * Each round merges up to {@code jobs-per-batch} queued jobs, at most {@code max-batch-items} appointments,
+ * into one transaction and repeats until the outbox is empty. If the database rejects a merged batch,
+ * its jobs are retried one by one so a single bad job only fails itself.
+ * Transient errors (no connection permit, deadlock, lock timeout, failover) never fail a job: the round ends
+ * and its jobs stay QUEUED for the next poll.
+ * Drainers on several nodes can run side by side: jobs are claimed with SKIP LOCKED.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "hospital.async-bulk.drainer-enabled", havingValue = "true", matchIfMissing = true)
+public class BulkAppointmentDrainer {
+
+    private final BulkAppointmentJobService jobService;
+    private final int jobsPerBatch;
+    private final int maxBatchItems;
+    private final Duration retention;
+
+    public BulkAppointmentDrainer(
+            BulkAppointmentJobService jobService,
+            @Value("${hospital.async-bulk.jobs-per-batch:100}") int jobsPerBatch,
+            @Value("${hospital.async-bulk.max-batch-items:5000}") int maxBatchItems,
+            @Value("${hospital.async-bulk.retention:7d}") Duration retention) {
+        this.jobService = jobService;
+        this.jobsPerBatch = jobsPerBatch;
+        this.maxBatchItems = maxBatchItems;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${hospital.async-bulk.poll-interval:250}")
+    public void drain() {
+        try {
+            List<Long> batch;
+            while (!(batch = jobService.nextBatch(jobsPerBatch, maxBatchItems)).isEmpty()) {
+                if (processBatch(batch) == 0) {
+                    // Every job of the batch is held by another drainer
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            if (!isTransient(e)) {
+                throw e;
+            }
+            log.warn("Transient database error, leaving bulk jobs queued until the next round", e);
+        }
+    }
+
+    @Scheduled(cron = "${hospital.async-bulk.purge-cron:0 30 3 * * *}", zone = "UTC")
+    public void purgeFinishedJobs() {
+        int purged = jobService.purgeFinished(retention);
+        log.info("Purged {} finished bulk jobs older than {}", purged, retention);
+    }
+
+    private int processBatch(List<Long> batch) {
+        try {
+            return jobService.process(batch);
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            if (batch.size() == 1) {
+                log.error("Bulk job {} rejected", batch.get(0), e);
+                jobService.fail(batch.get(0), "Rejected by database: " + e.getMessage());
+                return 1;
+            }
+            log.warn("Batch of {} bulk jobs rejected, retrying them one by one", batch.size(), e);
+        }
+
+        int processed = 0;
+        for (Long jobId : batch) {
+            processed += processBatch(List.of(jobId));
+        }
+        return processed;
+    }
+
+    /**
+     * Whether the error may not repeat on retry; the cause chain is searched because connection failures
+     * reach us wrapped, e.g. in a CannotCreateTransactionException
+     */
+    private static boolean isTransient(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof CannotGetJdbcConnectionException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
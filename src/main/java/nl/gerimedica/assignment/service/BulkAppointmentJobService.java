@@ -0,0 +1,294 @@
+package nl.gerimedica.assignment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import nl.gerimedica.assignment.audit.SsnMasker;
+import nl.gerimedica.assignment.config.ReplicaRouting;
+import nl.gerimedica.assignment.dto.BulkAppointmentRequest;
+import nl.gerimedica.assignment.dto.BulkItemError;
+import nl.gerimedica.assignment.dto.BulkJobStatus;
+import nl.gerimedica.assignment.entity.BulkAppointmentJob;
+import nl.gerimedica.assignment.exception.BadRequestException;
+import nl.gerimedica.assignment.exception.QueueFullException;
+import nl.gerimedica.assignment.exception.ResourceNotFoundException;
+import nl.gerimedica.assignment.repository.BulkAppointmentJobRepository;
+import nl.gerimedica.assignment.repository.QueuedJob;
+import nl.gerimedica.assignment.validation.IsoDateTime;
+import nl.gerimedica.assignment.validation.Ssn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Asynchronous (write-behind) bulk appointment creation through the bulk_appointment_jobs outbox
+ * <p>
+ * Requests are validated and stored as QUEUED jobs in one short transaction; {@link BulkAppointmentDrainer}
+ * later merges the jobs of many patients into one {@link AppointmentChunkWriter} transaction.
+ * The outbox is bounded by the number of queued appointments; beyond it requests are rejected with a retry hint.
+ */
+@Service
+@Slf4j
+public class BulkAppointmentJobService {
+    private static final TypeReference<List<BulkItemError>> ERRORS_TYPE = new TypeReference<>() {};
+
+    private final BulkAppointmentJobRepository jobRepository;
+    private final AppointmentChunkWriter chunkWriter;
+    private final MetricsService metricsService;
+    private final ObjectMapper objectMapper;
+    private final ReplicaRouting replicaRouting;
+    private final long maxQueuedItems;
+    private final Duration retryAfter;
+    private final Clock clock = Clock.systemUTC();
+
+    public BulkAppointmentJobService(
+            BulkAppointmentJobRepository jobRepository,
+            AppointmentChunkWriter chunkWriter,
+            MetricsService metricsService,
+            ObjectMapper objectMapper,
+            ReplicaRouting replicaRouting,
+            @Value("${hospital.async-bulk.max-queued-items:100000}") long maxQueuedItems,
+            @Value("${hospital.async-bulk.retry-after:5s}") Duration retryAfter) {
+        this.jobRepository = jobRepository;
+        this.chunkWriter = chunkWriter;
+        this.metricsService = metricsService;
+        this.objectMapper = objectMapper;
+        this.replicaRouting = replicaRouting;
+        this.maxQueuedItems = maxQueuedItems;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Accept a bulk request for asynchronous processing
+     * <p>
+     * The bound is checked before inserting, so concurrent requests may overshoot it by their own size.
+     *
+     * @param request Bulk request; appointments are validated individually when the job is processed
+     * @return Status of the queued job
+     * @throws BadRequestException if the SSN is malformed or the reasons and dates do not pair up
+     * @throws QueueFullException  if the outbox already holds {@code hospital.async-bulk.max-queued-items} appointments
+     */
+    @Transactional
+    public BulkJobStatus enqueue(BulkAppointmentRequest request) {
+        if (!Ssn.isValid(request.ssn())) {
+            throw new BadRequestException(Ssn.FORMAT_MESSAGE);
+        }
+        if (request.reasons().size() != request.dates().size()) {
+            throw new BadRequestException("Expected " + request.reasons().size() + " dates, one per reason, but got "
+                    + request.dates().size());
+        }
+
+        int items = request.reasons().size();
+        if (jobRepository.countQueuedItems() + items > maxQueuedItems) {
+            metricsService.recordBulkJobRejected();
+            throw new QueueFullException("Too many appointments waiting to be processed, please retry later", retryAfter);
+        }
+
+        var job = jobRepository.save(new BulkAppointmentJob(toJson(request), items, LocalDateTime.now(clock)));
+        metricsService.recordBulkJobEnqueued();
+        log.info("Queued bulk job {} with {} appointments for SSN: {}", job.getId(), items, SsnMasker.mask(request.ssn()));
+
+        return toStatus(job);
+    }
+
+    /**
+     * Get the status of an asynchronous bulk request
+     *
+     * @param jobId ID returned when the request was accepted
+     * @return Job status with per-item failures
+     * @throws ResourceNotFoundException if there is no such job
+     */
+    @Transactional(readOnly = true)
+    public BulkJobStatus getJob(long jobId) {
+        // Clients poll right after enqueueing, a lagging replica would not know the job yet
+        replicaRouting.pinToPrimary();
+        return jobRepository.findById(jobId)
+                .map(this::toStatus)
+                .orElseThrow(() -> new ResourceNotFoundException("Bulk job not found with ID: " + jobId));
+    }
+
+    /**
+     * Pick the oldest queued jobs for one drain transaction, stopping before {@code maxItems} appointments
+     * unless the first job alone is larger
+     *
+     * @return IDs of the jobs, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<Long> nextBatch(int maxJobs, int maxItems) {
+        replicaRouting.pinToPrimary();
+        List<Long> ids = new ArrayList<>();
+        int items = 0;
+        for (QueuedJob job : jobRepository.findQueued(PageRequest.of(0, maxJobs))) {
+            if (!ids.isEmpty() && items + job.itemCount() > maxItems) {
+                break;
+            }
+            ids.add(job.id());
+            items += job.itemCount();
+        }
+        return ids;
+    }
+
+    /**
+     * Process the given jobs in one transaction: their valid appointments are written by one
+     * {@link AppointmentChunkWriter#writeChunk} call and the jobs are marked COMPLETED on commit.
+     * Each job counts the appointments it created, and those skipped because the patient already had them.
+     * Jobs that were processed or locked by another drainer in the meantime are skipped.
+     * Metrics are recorded on commit, a batch that fails to commit is retried job by job without counting twice.
+     *
+     * @param jobIds IDs of queued jobs
+     * @return Number of jobs processed
+     */
+    @Transactional
+    public int process(Collection<Long> jobIds) {
+        List<BulkAppointmentJob> jobs = jobRepository.lockQueued(jobIds);
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        List<AppointmentChunkWriter.Line> lines = new ArrayList<>();
+        List<List<BulkItemError>> errors = new ArrayList<>(jobs.size());
+        // The lines of job i are lines[lineEnds[i - 1], lineEnds[i])
+        int[] lineEnds = new int[jobs.size()];
+        for (int i = 0; i < jobs.size(); i++) {
+            errors.add(collectLines(jobs.get(i), lines));
+            lineEnds[i] = lines.size();
+        }
+
+        Set<AppointmentChunkWriter.Line> inserted = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (!lines.isEmpty()) {
+            inserted.addAll(chunkWriter.writeChunk(lines));
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (int i = 0; i < jobs.size(); i++) {
+            BulkAppointmentJob job = jobs.get(i);
+            List<BulkItemError> jobErrors = errors.get(i);
+            List<AppointmentChunkWriter.Line> jobLines = lines.subList(i == 0 ? 0 : lineEnds[i - 1], lineEnds[i]);
+            int jobCreated = (int) jobLines.stream().filter(inserted::contains).count();
+            job.setStatus(BulkAppointmentJob.Status.COMPLETED);
+            job.setCreatedCount(jobCreated);
+            job.setSkippedCount(jobLines.size() - jobCreated);
+            job.setFailedCount(jobErrors.size());
+            job.setFailures(jobErrors.isEmpty() ? null : toJson(jobErrors));
+            job.setCompletedAt(now);
+        }
+
+        int created = inserted.size();
+        int skipped = lines.size() - created;
+        afterCommit(() -> {
+            jobs.forEach(job -> metricsService.recordBulkJobFinished(job.getStatus().name()));
+            metricsService.recordAppointmentsCreated(created);
+            if (skipped > 0) {
+                metricsService.recordDuplicateAppointments(skipped);
+            }
+        });
+
+        log.info("Processed {} bulk jobs, created {} appointments, skipped {} existing",
+                jobs.size(), created, skipped);
+        return jobs.size();
+    }
+
+    /**
+     * Mark a queued job FAILED without creating any of its appointments
+     *
+     * @param jobId  ID of the job
+     * @param reason Why the job could not be processed
+     */
+    @Transactional
+    public void fail(long jobId, String reason) {
+        jobRepository.lockQueued(List.of(jobId)).forEach(job -> {
+            job.setStatus(BulkAppointmentJob.Status.FAILED);
+            job.setFailedCount(job.getItemCount());
+            job.setError(reason.length() > 1000 ? reason.substring(0, 1000) : reason);
+            job.setCompletedAt(LocalDateTime.now(clock));
+            afterCommit(() -> metricsService.recordBulkJobFinished(job.getStatus().name()));
+        });
+    }
+
+    /**
+     * Delete jobs that finished longer than {@code retention} ago
+     *
+     * @return Number of jobs deleted
+     */
+    @Transactional
+    public int purgeFinished(Duration retention) {
+        return jobRepository.deleteCompletedBefore(LocalDateTime.now(clock).minus(retention));
+    }
+
+    /**
+     * Adds the job's valid appointments to {@code lines} and returns the errors of the invalid ones
+     */
+    private List<BulkItemError> collectLines(BulkAppointmentJob job, List<AppointmentChunkWriter.Line> lines) {
+        BulkAppointmentRequest request = fromJson(job.getPayload(), BulkAppointmentRequest.class);
+        List<BulkItemError> jobErrors = new ArrayList<>();
+
+        for (int i = 0; i < job.getItemCount(); i++) {
+            String reason = request.reasons().get(i);
+            String date = request.dates().get(i);
+            if (reason == null || reason.isBlank()) {
+                jobErrors.add(new BulkItemError(i, "Reason is required"));
+                continue;
+            }
+            LocalDateTime appointmentDate = IsoDateTime.parse(date);
+            if (appointmentDate == null) {
+                jobErrors.add(new BulkItemError(i, IsoDateTime.FORMAT_MESSAGE + ": " + date));
+                continue;
+            }
+            lines.add(new AppointmentChunkWriter.Line(i, request.patientName(), request.ssn(), reason, appointmentDate));
+        }
+        return jobErrors;
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private BulkJobStatus toStatus(BulkAppointmentJob job) {
+        List<BulkItemError> failures = job.getFailures() == null ? List.of() : fromJson(job.getFailures(), ERRORS_TYPE);
+        return new BulkJobStatus(job.getId(), job.getStatus().name(), job.getItemCount(), job.getCreatedCount(),
+                job.getSkippedCount(), job.getFailedCount(), failures, job.getError(), job.getCreatedAt(), job.getCompletedAt());
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize bulk job data", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read bulk job data", e);
+        }
+    }
+
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read bulk job data", e);
+        }
+    }
+}
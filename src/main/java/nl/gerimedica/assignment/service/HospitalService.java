@@ -1,26 +1,62 @@
 package nl.gerimedica.assignment.service;
 
-import io.micrometer.core.annotation.Counted;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nl.gerimedica.assignment.audit.AuditLog;
+import nl.gerimedica.assignment.audit.SsnMasker;
+import nl.gerimedica.assignment.config.ReplicaRouting;
 import nl.gerimedica.assignment.dto.AppointmentDTO;
+import nl.gerimedica.assignment.dto.BatchDeleteResult;
+import nl.gerimedica.assignment.dto.CursorPage;
+import nl.gerimedica.assignment.dto.PatientDTO;
+import nl.gerimedica.assignment.dto.PatientLookupResult;
+import nl.gerimedica.assignment.dto.PatientSummary;
 import nl.gerimedica.assignment.entity.Appointment;
 import nl.gerimedica.assignment.entity.Patient;
 import nl.gerimedica.assignment.exception.BadRequestException;
+import nl.gerimedica.assignment.exception.InvalidRequestException;
 import nl.gerimedica.assignment.exception.ResourceNotFoundException;
 import nl.gerimedica.assignment.mappers.AppointmentMapper;
+import nl.gerimedica.assignment.mappers.PatientDtoContext;
+import nl.gerimedica.assignment.repository.AppointmentBatchWriter;
+import nl.gerimedica.assignment.repository.AppointmentRangeFilter;
 import nl.gerimedica.assignment.repository.AppointmentRepository;
+import nl.gerimedica.assignment.repository.AppointmentRow;
+import nl.gerimedica.assignment.repository.AppointmentStatisticsTracker;
+import nl.gerimedica.assignment.repository.IdempotencyKeys;
+import nl.gerimedica.assignment.repository.LatestAppointmentTracker;
+import nl.gerimedica.assignment.repository.PatientCache;
 import nl.gerimedica.assignment.repository.PatientRepository;
+import nl.gerimedica.assignment.repository.PatientRow;
+import nl.gerimedica.assignment.repository.PatientUpserts;
+import nl.gerimedica.assignment.repository.PatientVersions;
+import nl.gerimedica.assignment.repository.ReasonDictionary;
+import nl.gerimedica.assignment.validation.BulkAppointmentValidator;
+import nl.gerimedica.assignment.validation.Ssn;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for managing hospital operations related to patients and appointments
@@ -28,100 +64,233 @@ import java.util.stream.Collectors;
  * This class implements core business logic for the hospital management system including:
  * - Creating and managing patient records
  * - Scheduling appointments
- * - Retrieving appointment information using various criteria
+ * - Retrieving appointment information using various criteria, read straight into DTO projections
+ * - Appointments of one response share a single PatientDTO per patient
+ * - Read-only transactions may be served by a read replica; reads about an SSN written moments ago stay on the primary
+ * - Created and deleted appointments go to the asynchronous audit log instead of the application log
+ * - Bulk writers of one SSN are serialized on this node by SsnLocks; new patients are created by an atomic upsert
+ * - Every public method is timed as hospital.service, with percentiles and a histogram
  */
 @Service
+@Timed(value = "hospital.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 @Slf4j
 @RequiredArgsConstructor
 public class HospitalService {
     private final PatientRepository patientRepository;
+    private final PatientCache patientCache;
+    private final PatientUpserts patientUpserts;
+    private final PatientVersions patientVersions;
     private final AppointmentRepository appointmentRepository;
     private final AppointmentMapper appointmentMapper;
+    private final AppointmentBatchWriter appointmentBatchWriter;
+    private final AppointmentChunkWriter appointmentChunkWriter;
+    private final ReasonDictionary reasonDictionary;
+    private final LatestAppointmentTracker latestAppointmentTracker;
+    private final AppointmentStatisticsTracker appointmentStatisticsTracker;
     private final MetricsService metricsService;
+    private final AuditLog auditLog;
+    private final ReplicaRouting replicaRouting;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyKeys idempotencyKeys;
+    private final SsnLocks ssnLocks;
+    private final ObjectMapper objectMapper;
+
+    private static final TypeReference<List<AppointmentDTO>> APPOINTMENTS_TYPE = new TypeReference<>() {};
 
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ISO_DATE_TIME;
 
+    @Value("${hospital.pagination.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${hospital.delete.chunk-size:500}")
+    private int deleteChunkSize;
+
+    @Value("${hospital.lookup.chunk-size:500}")
+    private int lookupChunkSize;
+
+    @Value("${hospital.lookup.max-ssns:1000}")
+    private int lookupMaxSsns;
+
+
+    /**
+     * Outcome of a bulk request
+     *
+     * @param appointments Created appointments, or those of the original request when replayed
+     * @param replayed     Whether the response was stored for an earlier request with the same Idempotency-Key
+     */
+    public record BulkCreation(List<AppointmentDTO> appointments, boolean replayed) {}
 
     /**
      * Creates multiple appointments for a patient in a single transaction
+     * <p>
+     * The whole request is validated and its dates parsed before the transaction starts, so an invalid request
+     * never takes a connection. Appointments are written by {@link AppointmentBatchWriter}; those the patient
+     * already has for the same date and reason are skipped and left out of the result. Requests for the same SSN
+     * run one at a time, each holding its SSN's lock from before its transaction until the commit.
      *
      * @param patientName Name of the patient
      * @param ssn         Social Security Number of the patient (unique identifier)
      * @param reasons     List of reasons for each appointment
-     * @param dates       List of dates for each appointment
+     * @param dates       List of dates for each appointment, one per reason
      * @return List of created appointment DTOs
-     * @throws BadRequestException if input data is invalid
+     * @throws InvalidRequestException listing every invalid field if input data is invalid
      */
-    @Transactional
     public List<AppointmentDTO> bulkCreateAppointments(
             String patientName,
             String ssn,
             List<String> reasons,
             List<String> dates
     ) {
-        Patient patient = patientRepository.findBySsn(ssn)
+        return bulkCreateAppointments(null, patientName, ssn, reasons, dates).appointments();
+    }
+
+    /**
+     * Creates multiple appointments for a patient in a single transaction, at most once per Idempotency-Key
+     * <p>
+     * The first request with a key stores its response in the transaction creating the appointments; later requests
+     * with that key get the stored response without writing anything. Concurrent requests with one key are
+     * serialized by the key's row, only the first of them creates appointments.
+     *
+     * @param idempotencyKey Client-chosen key of the request, or null to always create
+     * @return Created appointments, or the stored ones of a replayed request
+     * @throws InvalidRequestException listing every invalid field if input data is invalid
+     * @throws BadRequestException     if the key is too long, or was used for a different request
+     */
+    public BulkCreation bulkCreateAppointments(
+            String idempotencyKey,
+            String patientName,
+            String ssn,
+            List<String> reasons,
+            List<String> dates
+    ) {
+        List<LocalDateTime> appointmentDates = BulkAppointmentValidator.validate(patientName, ssn, reasons, dates);
+        if (idempotencyKey == null) {
+            return new BulkCreation(ssnLocks.withLock(ssn, () -> transactionTemplate.execute(
+                    status -> createAppointments(patientName, ssn, reasons, appointmentDates))), false);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > IdempotencyKeys.MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must have 1 to " + IdempotencyKeys.MAX_KEY_LENGTH + " characters");
+        }
+
+        String request = toJson(List.of(patientName, ssn, reasons, dates));
+        Optional<IdempotencyKeys.StoredResponse> stored = idempotencyKeys.find(idempotencyKey);
+        if (stored.isPresent()) {
+            return replay(stored.get(), request);
+        }
+
+        List<AppointmentDTO> created = ssnLocks.withLock(ssn, () -> transactionTemplate.execute(status -> {
+            if (!idempotencyKeys.claim(idempotencyKey, request)) {
+                return null;
+            }
+            List<AppointmentDTO> appointments = createAppointments(patientName, ssn, reasons, appointmentDates);
+            idempotencyKeys.complete(idempotencyKey, request, toJson(appointments));
+            return appointments;
+        }));
+        if (created == null) {
+            // A concurrent request with this key committed first
+            return replay(idempotencyKeys.find(idempotencyKey).orElseThrow(), request);
+        }
+        return new BulkCreation(created, false);
+    }
+
+    private BulkCreation replay(IdempotencyKeys.StoredResponse stored, String request) {
+        if (!stored.matches(request)) {
+            throw new BadRequestException("Idempotency-Key was already used for a different request");
+        }
+        metricsService.recordBulkReplay();
+        try {
+            return new BulkCreation(objectMapper.readValue(stored.response(), APPOINTMENTS_TYPE), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored bulk response", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize bulk request data", e);
+        }
+    }
+
+    private List<AppointmentDTO> createAppointments(
+            String patientName,
+            String ssn,
+            List<String> reasons,
+            List<LocalDateTime> dates
+    ) {
+        Patient patient = patientRepository.loadBySsn(ssn)
                 .map(existingPatient -> {
-                    log.info("Using existing patient with SSN: {}", ssn);
+                    log.debug("Using existing patient with SSN: {}", SsnMasker.mask(ssn));
                     return existingPatient;
                 })
                 .orElseGet(() -> {
-                    log.info("Creating new patient with SSN: {}", ssn);
-                    var newPatient = new Patient(patientName, ssn);
-                    patientRepository.save(newPatient);
-                    return newPatient;
+                    // A concurrent writer on another node may create the patient first, the upsert then returns its ID
+                    log.info("Creating new patient with SSN: {}", SsnMasker.mask(ssn));
+                    Long patientId = patientUpserts.upsertAll(Map.of(ssn, patientName)).get(ssn);
+                    return patientRepository.findById(patientId).orElseThrow();
                 });
 
-        List<Appointment> createdAppointments = new ArrayList<>();
-        int loopSize = Math.min(reasons.size(), dates.size());
-
-        for (int i = 0; i < loopSize; i++) {
-            String reason = reasons.get(i);
-            LocalDateTime appointmentDate;
+        List<Appointment> appointments = new ArrayList<>(reasons.size());
+        for (int i = 0; i < reasons.size(); i++) {
+            appointments.add(new Appointment(reasons.get(i), dates.get(i), patient));
+        }
 
-            try {
-                appointmentDate = LocalDateTime.parse(dates.get(i), dateFormatter);
-            } catch (DateTimeParseException e) {
-                throw new BadRequestException("Invalid date format at index " + i + ": " + dates.get(i));
-            }
+        // Register new reasons up front instead of from the converter during flush
+        reasons.stream().distinct().forEach(reasonDictionary::idOf);
 
-            Appointment appointment = new Appointment(reason, appointmentDate, patient);
-            patient.addAppointment(appointment);
-            createdAppointments.add(appointment);
+        // Appointments are not added to patient.appointments: that would initialize the whole lazy collection
+        patientRepository.flush();
+        List<Appointment> createdAppointments = appointmentBatchWriter.insertAll(appointments);
+        int skipped = appointments.size() - createdAppointments.size();
+        if (skipped > 0) {
+            log.info("Skipped {} existing appointments for patient with SSN: {}", skipped, SsnMasker.mask(ssn));
+            metricsService.recordDuplicateAppointments(skipped);
         }
-
-        patientRepository.save(patient);
         metricsService.recordAppointmentsCreated(createdAppointments.size());
 
+        replicaRouting.recordWrite(ssn);
+        createdAppointments.forEach(appt ->
+                auditLog.appointmentCreated(ssn, appt.getReason(), appt.getAppointmentDate()));
+        log.info("Created {} appointments for patient with SSN: {}", createdAppointments.size(), SsnMasker.mask(ssn));
+
+        var patients = new PatientDtoContext();
         return createdAppointments.stream()
-                .peek(appt ->
-                        log.info("""
-                                Created appointment:
-                                Reason: {}
-                                Date: {}
-                                Patient: {} (SSN: {})
-                                """,
-                                appt.getReason(),
-                                appt.getAppointmentDate(),
-                                appt.getPatient().getName(),
-                                appt.getPatient().getSsn())
-                )
-                .map(appointmentMapper::toDto)
+                .map(appointment -> appointmentMapper.toDto(appointment, patients))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Find a patient by their SSN
+     * Find a patient by their SSN, served from the SSN cache when possible
      *
      * @param ssn Social Security Number of the patient
-     * @return Patient entity
+     * @return Patient DTO
      * @throws ResourceNotFoundException if patient not found
      */
     @Transactional(readOnly = true)
-    public Patient findPatientBySSN(String ssn) {
-        return patientRepository.findBySsn(ssn)
+    public PatientDTO findPatientBySSN(String ssn) {
+        replicaRouting.readYourWrites(ssn);
+        return patientCache.findBySsn(ssn)
+                .map(PatientRow::toDto)
                 .orElseThrow(() -> new ResourceNotFoundException("Patient not found with SSN: " + ssn));
     }
 
+    /**
+     * Get the entity tag of a patient's resources, from its change version rather than the patient itself.
+     * Read through the same routing as the resources, so a tag is never newer than the data it is sent with.
+     *
+     * @param ssn Social Security Number of the patient
+     * @return Unquoted tag combining the patient ID and version, empty if the patient does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findPatientETag(String ssn) {
+        replicaRouting.readYourWrites(ssn);
+        return patientCache.findBySsn(ssn).flatMap(patient -> {
+            OptionalLong version = patientVersions.versionOf(patient.id());
+            return version.isPresent() ? Optional.of(patient.id() + "." + version.getAsLong()) : Optional.empty();
+        });
+    }
+
     /**
      * Get appointments by exact reason match
      *
@@ -130,12 +299,10 @@ public class HospitalService {
      */
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsByReason(String reasonKeyword) {
-        List<Appointment> appointments = appointmentRepository.findByReasonIgnoreCase(reasonKeyword);
+        List<String> reasons = reasonDictionary.namesEqualIgnoreCase(reasonKeyword);
         metricsService.recordAppointmentQueried("by_exact_reason");
 
-        return appointments.stream()
-                .map(appointmentMapper::toDto)
-                .collect(Collectors.toList());
+        return reasons.isEmpty() ? List.of() : toDtos(appointmentRepository.findByReasonIn(reasons));
     }
 
     /**
@@ -146,12 +313,120 @@ public class HospitalService {
      */
     @Transactional(readOnly = true)
     public List<AppointmentDTO> getAppointmentsContainingReason(String reasonKeyword) {
-        List<Appointment> appointments = appointmentRepository.findByReasonContainingIgnoreCase(reasonKeyword);
+        List<String> reasons = reasonDictionary.namesContainingIgnoreCase(reasonKeyword);
         metricsService.recordAppointmentQueried("containing_reason");
 
-        return appointments.stream()
-                .map(appointmentMapper::toDto)
-                .collect(Collectors.toList());
+        return reasons.isEmpty() ? List.of() : toDtos(appointmentRepository.findByReasonIn(reasons));
+    }
+
+    /**
+     * Get one keyset page of appointments by exact reason match, ordered by appointment date
+     *
+     * @param reason Reason to search for
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param size   Maximum number of appointments on the page
+     * @return Page of appointment DTOs with the cursor of the next page
+     * @throws BadRequestException if the cursor or page size is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentDTO> getAppointmentsByReasonPage(String reason, String cursor, int size) {
+        var page = pageByReasons(reasonDictionary.namesEqualIgnoreCase(reason), cursor, size);
+        metricsService.recordAppointmentQueried("by_exact_reason_page");
+        return page;
+    }
+
+    /**
+     * Get one keyset page of appointments containing the reason keyword, ordered by appointment date
+     *
+     * @param reasonKeyword Keyword to search for in reason field
+     * @param cursor        Cursor returned with the previous page, or null for the first page
+     * @param size          Maximum number of appointments on the page
+     * @return Page of appointment DTOs with the cursor of the next page
+     * @throws BadRequestException if the cursor or page size is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentDTO> getAppointmentsContainingReasonPage(String reasonKeyword, String cursor, int size) {
+        var page = pageByReasons(reasonDictionary.namesContainingIgnoreCase(reasonKeyword), cursor, size);
+        metricsService.recordAppointmentQueried("containing_reason_page");
+        return page;
+    }
+
+    /**
+     * Get one keyset page of appointments in a date range, optionally only those with an exact reason or of one patient
+     * <p>
+     * The range bounds go to the database as-is, so only the monthly partitions overlapping it are read.
+     *
+     * @param from   Start of the range (inclusive), ISO date-time
+     * @param to     End of the range (exclusive), ISO date-time
+     * @param reason Reason to match exactly, or null for any reason
+     * @param ssn    SSN of the patient, or null for any patient
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param size   Maximum number of appointments on the page
+     * @return Page of appointment DTOs with the cursor of the next page
+     * @throws BadRequestException       if the range, cursor or page size is invalid
+     * @throws ResourceNotFoundException if the SSN is given and no patient has it
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AppointmentDTO> getAppointmentsInRange(
+            String from,
+            String to,
+            String reason,
+            String ssn,
+            String cursor,
+            int size
+    ) {
+        replicaRouting.readYourWrites(ssn);
+        LocalDateTime fromDate = parseRangeBound("from", from);
+        LocalDateTime toDate = parseRangeBound("to", to);
+        if (!fromDate.isBefore(toDate)) {
+            throw new BadRequestException("Range start must be before its end: " + from + " - " + to);
+        }
+
+        Pageable limit = pageLimit(size);
+        var after = cursor == null ? null : AppointmentCursor.decode(cursor);
+
+        Long patientId = ssn == null ? null : patientCache.findBySsn(ssn)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found with SSN: " + ssn))
+                .id();
+        List<String> reasons = reason == null ? null : reasonDictionary.namesEqualIgnoreCase(reason);
+        metricsService.recordAppointmentQueried("by_date_range");
+
+        if (reasons != null && reasons.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<AppointmentRow> rows = appointmentRepository.findPageByDateRange(
+                new AppointmentRangeFilter(fromDate, toDate, reasons, patientId),
+                after == null ? null : after.appointmentDate(),
+                after == null ? null : after.id(),
+                limit.getPageSize());
+        return toPage(rows, size);
+    }
+
+    /**
+     * Stream all appointments by exact reason match to the consumer, reading from a database cursor
+     *
+     * @param reason   Reason to search for
+     * @param consumer Receives each appointment DTO in appointment date order
+     * @return Number of appointments streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamAppointmentsByReason(String reason, Consumer<AppointmentDTO> consumer) {
+        metricsService.recordAppointmentQueried("by_exact_reason_stream");
+        return streamByReasons(reasonDictionary.namesEqualIgnoreCase(reason), consumer);
+    }
+
+    /**
+     * Stream all appointments containing the reason keyword to the consumer, reading from a database cursor
+     *
+     * @param reasonKeyword Keyword to search for in reason field
+     * @param consumer      Receives each appointment DTO in appointment date order
+     * @return Number of appointments streamed
+     */
+    @Transactional(readOnly = true)
+    public long streamAppointmentsContainingReason(String reasonKeyword, Consumer<AppointmentDTO> consumer) {
+        metricsService.recordAppointmentQueried("containing_reason_stream");
+        return streamByReasons(reasonDictionary.namesContainingIgnoreCase(reasonKeyword), consumer);
     }
 
     /**
@@ -162,21 +437,57 @@ public class HospitalService {
      */
     @Transactional
     public void deleteAppointmentsBySSN(String ssn) {
-        var patientExists = patientRepository.findBySsn(ssn).isPresent();
-
-        if (!patientExists) {
-            throw new ResourceNotFoundException("Patient not found with SSN: " + ssn);
-        }
+        long patientId = patientCache.findBySsn(ssn)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found with SSN: " + ssn))
+                .id();
 
-        List<Appointment> appointments = appointmentRepository.findByPatientSsn(ssn);
-        int count = appointments.size();
+        appointmentStatisticsTracker.appointmentsRemoving(List.of(patientId));
+        int count = appointmentRepository.deleteAllByPatientId(patientId);
+        latestAppointmentTracker.appointmentsRemoved(List.of(patientId));
 
         if (count > 0) {
-            appointmentRepository.deleteByPatientSsn(ssn);
             metricsService.recordAppointmentsDeleted(count);
 
-            log.info("Deleted {} appointments for patient with SSN: {}", count, ssn);
+            replicaRouting.recordWrite(ssn);
+            auditLog.appointmentsDeleted(ssn, count);
+            log.info("Deleted {} appointments for patient with SSN: {}", count, SsnMasker.mask(ssn));
+        }
+    }
+
+    /**
+     * Delete all appointments for many patients, committing every
+     * {@code hospital.delete.chunk-size} SSNs in a separate transaction
+     * <p>
+     * Unknown SSNs are reported instead of failing the request. If a chunk fails, the chunks before it
+     * stay committed; repeating the request is safe.
+     *
+     * @param ssns Social Security Numbers of the patients
+     * @return Number of matched patients and deleted appointments, and the SSNs without a patient
+     */
+    public BatchDeleteResult deleteAppointmentsBySSNs(List<String> ssns) {
+        List<String> distinct = ssns.stream().distinct().toList();
+
+        int patientsFound = 0;
+        long deleted = 0;
+        int chunks = 0;
+        List<String> notFound = new ArrayList<>();
+
+        for (int from = 0; from < distinct.size(); from += deleteChunkSize) {
+            var chunk = appointmentChunkWriter.deleteChunk(
+                    distinct.subList(from, Math.min(from + deleteChunkSize, distinct.size())));
+            patientsFound += chunk.patientsFound();
+            deleted += chunk.deleted();
+            notFound.addAll(chunk.notFound());
+            chunks++;
         }
+
+        if (deleted > 0) {
+            metricsService.recordAppointmentsDeleted(deleted);
+        }
+        log.info("Deleted {} appointments for {} patients in {} chunks, {} SSNs not found",
+                deleted, patientsFound, chunks, notFound.size());
+
+        return new BatchDeleteResult(distinct.size(), patientsFound, deleted, notFound);
     }
 
     /**
@@ -186,17 +497,122 @@ public class HospitalService {
      * @return Latest appointment DTO or null if no appointments
      * @throws ResourceNotFoundException if patient not found
      */
+    @Transactional(readOnly = true)
     public AppointmentDTO findLatestAppointmentBySSN(String ssn) {
-        if (!patientRepository.existsBySsn(ssn)) {
-            throw new ResourceNotFoundException("Patient not found with SSN: " + ssn);
-        }
+        replicaRouting.readYourWrites(ssn);
+        long patientId = patientCache.findBySsn(ssn)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found with SSN: " + ssn))
+                .id();
 
         metricsService.recordAppointmentQueried("latest_by_ssn");
 
-        return appointmentRepository.findLatestByPatientSsn(ssn, PageRequest.of(0, 1))
-                .stream()
-                .findFirst()
-                .map(appointmentMapper::toDto)
+        return appointmentRepository.findLatestByPatientId(patientId)
                 .orElse(null);
     }
+
+    /**
+     * Find many patients and their latest appointments by SSN, one query per chunk of SSNs
+     *
+     * @param ssns SSNs to look up, duplicates are ignored
+     * @return Patients in request order, and the SSNs without a patient
+     * @throws BadRequestException if more than {@code hospital.lookup.max-ssns} distinct SSNs are requested
+     */
+    @Transactional(readOnly = true)
+    public PatientLookupResult lookupPatients(List<String> ssns) {
+        List<String> distinct = ssns.stream().distinct().toList();
+        if (distinct.size() > lookupMaxSsns) {
+            throw new BadRequestException("At most " + lookupMaxSsns + " SSNs can be looked up at once");
+        }
+        distinct.forEach(replicaRouting::readYourWrites);
+
+        // Malformed SSNs cannot match a patient and end up in notFound without being queried
+        List<String> wellFormed = distinct.stream().filter(Ssn::isValid).toList();
+        Map<String, PatientSummary> found = new HashMap<>();
+        for (int from = 0; from < wellFormed.size(); from += lookupChunkSize) {
+            patientRepository.findLatestRowsBySsnIn(wellFormed.subList(from, Math.min(from + lookupChunkSize, wellFormed.size())))
+                    .forEach(row -> found.put(row.ssn(), row.toSummary()));
+        }
+        metricsService.recordAppointmentQueried("latest_by_ssns");
+
+        List<PatientSummary> patients = new ArrayList<>(found.size());
+        List<String> notFound = new ArrayList<>();
+        for (String ssn : distinct) {
+            PatientSummary patient = found.get(ssn);
+            if (patient != null) {
+                patients.add(patient);
+            } else {
+                notFound.add(ssn);
+            }
+        }
+        return new PatientLookupResult(patients, notFound);
+    }
+
+    private CursorPage<AppointmentDTO> pageByReasons(List<String> reasons, String cursor, int size) {
+        Pageable limit = pageLimit(size);
+        var after = cursor == null ? null : AppointmentCursor.decode(cursor);
+
+        if (reasons.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<AppointmentRow> rows = after == null
+                ? appointmentRepository.findPageByReasonIn(reasons, limit)
+                : appointmentRepository.findPageByReasonInAfter(reasons, after.appointmentDate(), after.id(), limit);
+        return toPage(rows, size);
+    }
+
+    private LocalDateTime parseRangeBound(String name, String value) {
+        try {
+            return LocalDateTime.parse(value, dateFormatter);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid date format for " + name + ": " + value);
+        }
+    }
+
+    private Pageable pageLimit(int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        // One extra row tells whether a next page exists
+        return PageRequest.of(0, size + 1);
+    }
+
+    private CursorPage<AppointmentDTO> toPage(List<AppointmentRow> rows, int size) {
+        String nextCursor = null;
+
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            AppointmentRow last = rows.get(size - 1);
+            nextCursor = new AppointmentCursor(last.appointmentDate(), last.id()).encode();
+        }
+
+        return new CursorPage<>(toDtos(rows), nextCursor);
+    }
+
+    /**
+     * Maps rows to DTOs, with one PatientDTO per patient instead of one per appointment
+     */
+    private List<AppointmentDTO> toDtos(List<AppointmentRow> rows) {
+        var patients = new PatientDtoContext();
+        List<AppointmentDTO> appointments = new ArrayList<>(rows.size());
+        for (AppointmentRow row : rows) {
+            appointments.add(appointmentMapper.toDto(row, patients));
+        }
+        return appointments;
+    }
+
+    private long streamByReasons(List<String> reasons, Consumer<AppointmentDTO> consumer) {
+        if (reasons.isEmpty()) {
+            return 0;
+        }
+
+        long count = 0;
+        // DTO projections are not managed, so the persistence context stays empty however long the stream is
+        try (Stream<AppointmentDTO> appointments = appointmentRepository.streamByReasonIn(reasons)) {
+            for (Iterator<AppointmentDTO> iterator = appointments.iterator(); iterator.hasNext(); count++) {
+                consumer.accept(iterator.next());
+            }
+        }
+        return count;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package nl.gerimedica.assignment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.gerimedica.assignment.repository.IdempotencyKeys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes Idempotency-Keys older than {@code hospital.idempotency.retention} on {@code hospital.idempotency.purge-cron};
+ * a request retried after that creates its appointments again, except those skipped as existing
+ */
+@Slf4j
+@Component
+public class IdempotencyKeyPurgeJob {
+
+    private final IdempotencyKeys idempotencyKeys;
+    private final Duration retention;
+
+    public IdempotencyKeyPurgeJob(
+            IdempotencyKeys idempotencyKeys,
+            @Value("${hospital.idempotency.retention:24h}") Duration retention) {
+        this.idempotencyKeys = idempotencyKeys;
+        this.retention = retention;
+    }
+
+    @Scheduled(cron = "${hospital.idempotency.purge-cron:0 45 3 * * *}", zone = "UTC")
+    public void purge() {
+        int purged = idempotencyKeys.purgeBefore(LocalDateTime.now().minus(retention));
+        log.info("Purged {} idempotency keys older than {}", purged, retention);
+    }
+}
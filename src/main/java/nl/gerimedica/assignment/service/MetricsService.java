@@ -1,13 +1,17 @@
 package nl.gerimedica.assignment.service;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Simplified metrics service that focuses only on essential counters
- * without complex timer measurements.
+ * Counters of hospital operations.
+ * Latencies are timers recorded elsewhere: HospitalService methods through {@code @Timed}
+ * and their repository, mapping and serialization share through EndpointLayerTimers.
  */
 @Service
 @Slf4j
@@ -19,6 +23,15 @@ public class MetricsService {
     private final Counter appointmentsCreatedCounter;
     private final Counter appointmentsQueriedCounter;
     private final Counter appointmentsDeletedCounter;
+    private final Counter importLinesFailedCounter;
+    private final Counter patientCacheHitsCounter;
+    private final Counter patientCacheMissesCounter;
+    private final Counter patientCacheEvictionsCounter;
+    private final Counter bulkJobsEnqueuedCounter;
+    private final Counter bulkJobsRejectedCounter;
+    private final Counter bulkReplaysCounter;
+    private final Counter duplicateAppointmentsCounter;
+    private final AtomicLong lastDeletionSize = new AtomicLong();
 
     /**
      * Initialize with registry and create basic counters
@@ -38,6 +51,43 @@ public class MetricsService {
         this.appointmentsDeletedCounter = Counter.builder("hospital.appointments.deleted")
                 .description("Number of appointments deleted")
                 .register(meterRegistry);
+
+        this.importLinesFailedCounter = Counter.builder("hospital.import.lines.failed")
+                .description("Number of import lines rejected")
+                .register(meterRegistry);
+
+        this.patientCacheHitsCounter = Counter.builder("hospital.patients.cache.hits")
+                .description("Number of patient lookups served from the SSN cache")
+                .register(meterRegistry);
+
+        this.patientCacheMissesCounter = Counter.builder("hospital.patients.cache.misses")
+                .description("Number of patient lookups that went to the database")
+                .register(meterRegistry);
+
+        this.patientCacheEvictionsCounter = Counter.builder("hospital.patients.cache.evictions")
+                .description("Number of SSN cache entries evicted by size or expiry")
+                .register(meterRegistry);
+
+        this.bulkJobsEnqueuedCounter = Counter.builder("hospital.bulk.jobs.enqueued")
+                .description("Number of asynchronous bulk requests accepted into the outbox")
+                .register(meterRegistry);
+
+        this.bulkJobsRejectedCounter = Counter.builder("hospital.bulk.jobs.rejected")
+                .description("Number of asynchronous bulk requests rejected because the outbox was full")
+                .register(meterRegistry);
+
+        this.bulkReplaysCounter = Counter.builder("hospital.bulk.replays")
+                .description("Number of bulk requests answered with the stored response of their Idempotency-Key")
+                .register(meterRegistry);
+
+        this.duplicateAppointmentsCounter = Counter.builder("hospital.appointments.duplicates")
+                .description("Number of appointments skipped because the patient already had them")
+                .register(meterRegistry);
+
+        // The gauge samples a field that stays strongly referenced, a boxed count would be garbage collected
+        Gauge.builder("hospital.appointments.last_deletion_size", lastDeletionSize, AtomicLong::get)
+                .description("Number of appointments removed by the last deletion")
+                .register(meterRegistry);
     }
 
     /**
@@ -48,6 +98,35 @@ public class MetricsService {
         appointmentsCreatedCounter.increment(count);
     }
 
+    /**
+     * Record import lines that were rejected
+     * @param count Number of rejected lines
+     */
+    public void recordImportLinesFailed(int count) {
+        importLinesFailedCounter.increment(count);
+    }
+
+    /**
+     * Record a patient lookup served from the SSN cache
+     */
+    public void recordPatientCacheHit() {
+        patientCacheHitsCounter.increment();
+    }
+
+    /**
+     * Record a patient lookup that missed the SSN cache
+     */
+    public void recordPatientCacheMiss() {
+        patientCacheMissesCounter.increment();
+    }
+
+    /**
+     * Record an SSN cache entry evicted by size or expiry
+     */
+    public void recordPatientCacheEviction() {
+        patientCacheEvictionsCounter.increment();
+    }
+
     /**
      * Record a query operation
      * @param queryType Type of query performed (for tagging)
@@ -61,8 +140,45 @@ public class MetricsService {
      * Record deletion of appointments
      * @param count Number of appointments deleted
      */
-    public void recordAppointmentsDeleted(int count) {
+    public void recordAppointmentsDeleted(long count) {
         appointmentsDeletedCounter.increment(count);
-        meterRegistry.gauge("hospital.appointments.last_deletion_size", count);
+        lastDeletionSize.set(count);
+    }
+
+    /**
+     * Record an asynchronous bulk request accepted into the outbox
+     */
+    public void recordBulkJobEnqueued() {
+        bulkJobsEnqueuedCounter.increment();
+    }
+
+    /**
+     * Record an asynchronous bulk request rejected because the outbox was full
+     */
+    public void recordBulkJobRejected() {
+        bulkJobsRejectedCounter.increment();
+    }
+
+    /**
+     * Record an asynchronous bulk request processed by the drainer
+     * @param status Final status of the job (for tagging)
+     */
+    public void recordBulkJobFinished(String status) {
+        meterRegistry.counter("hospital.bulk.jobs.finished", "status", status).increment();
+    }
+
+    /**
+     * Record a bulk request answered with the stored response of its Idempotency-Key
+     */
+    public void recordBulkReplay() {
+        bulkReplaysCounter.increment();
+    }
+
+    /**
+     * Record appointments that were not created because they already existed
+     * @param count Number of appointments skipped
+     */
+    public void recordDuplicateAppointments(int count) {
+        duplicateAppointmentsCounter.increment(count);
     }
 }
@@ -0,0 +1,48 @@
+package nl.gerimedica.assignment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.gerimedica.assignment.repository.AppointmentPartitionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+
+/**
+ * Keeps monthly appointment partitions {@code hospital.partitions.months-ahead} months ahead of today.
+ * Runs once at startup and then on {@code hospital.partitions.cron}; does nothing on an unpartitioned table.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "hospital.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class PartitionMaintenanceJob {
+
+    private final AppointmentPartitionManager partitionManager;
+    private final int monthsAhead;
+    private final Clock clock;
+
+    public PartitionMaintenanceJob(
+            AppointmentPartitionManager partitionManager,
+            @Value("${hospital.partitions.months-ahead:12}") int monthsAhead) {
+        this.partitionManager = partitionManager;
+        this.monthsAhead = monthsAhead;
+        this.clock = Clock.systemUTC();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${hospital.partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void createUpcomingPartitions() {
+        if (!partitionManager.isPartitioned()) {
+            log.debug("Appointments table is not partitioned, skipping partition maintenance");
+            return;
+        }
+
+        YearMonth current = YearMonth.now(clock);
+        int created = partitionManager.createMonthlyPartitions(current, current.plusMonths(monthsAhead));
+        log.info("Partition maintenance created {} appointment partitions up to {}", created, current.plusMonths(monthsAhead));
+    }
+}
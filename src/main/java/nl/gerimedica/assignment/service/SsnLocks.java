@@ -0,0 +1,46 @@
+package nl.gerimedica.assignment.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks that serialize this node's writers of one patient.
+ * - An SSN always maps to the same of {@code hospital.bulk.ssn-lock-stripes} locks, different SSNs rarely share one
+ * - Taken before the transaction starts and held until it commits, so a waiting writer holds no connection and
+ *   never queues on the patient's row lock in the database
+ * Writers on other nodes are still serialized by the database, see PatientUpserts.
+ */
+@Component
+public class SsnLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public SsnLocks(@Value("${hospital.bulk.ssn-lock-stripes:64}") int stripes) {
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run the given work while holding the lock of the SSN's stripe
+     */
+    public <T> T withLock(String ssn, Supplier<T> work) {
+        ReentrantLock lock = stripeOf(ssn);
+        lock.lock();
+        try {
+            return work.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripeOf(String ssn) {
+        int hash = ssn.hashCode();
+        // Mix the high bits into the low ones like HashMap does
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,31 @@
+package nl.gerimedica.assignment.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconciles the appointment count rollups with the appointments on {@code hospital.statistics.reconcile-cron},
+ * rebuilding them when they drifted and {@code hospital.statistics.repair} is set.
+ * Aggregates the whole appointments table, so it runs off-peak rather than at startup.
+ */
+@Component
+@ConditionalOnProperty(name = "hospital.statistics.reconcile-enabled", havingValue = "true", matchIfMissing = true)
+public class StatisticsReconcileJob {
+
+    private final AppointmentStatisticsService statisticsService;
+    private final boolean repair;
+
+    public StatisticsReconcileJob(
+            AppointmentStatisticsService statisticsService,
+            @Value("${hospital.statistics.repair:true}") boolean repair) {
+        this.statisticsService = statisticsService;
+        this.repair = repair;
+    }
+
+    @Scheduled(cron = "${hospital.statistics.reconcile-cron:0 15 4 * * *}", zone = "UTC")
+    public void reconcile() {
+        statisticsService.reconcile(repair);
+    }
+}
@@ -0,0 +1,69 @@
+package nl.gerimedica.assignment.validation;
+
+import nl.gerimedica.assignment.exception.InvalidRequestException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validates a bulk appointment request completely before any database work.
+ * - Every invalid field is collected, dates and reasons by index, so one response lists all errors
+ * - Reasons and dates must pair up; differing lengths are rejected instead of truncated
+ * - Dates are parsed once with {@link IsoDateTime} and handed on, the write path does not parse again
+ */
+public final class BulkAppointmentValidator {
+
+    private BulkAppointmentValidator() {
+    }
+
+    /**
+     * @return The parsed dates, in request order
+     * @throws InvalidRequestException listing every invalid field if any is invalid
+     */
+    public static List<LocalDateTime> validate(String patientName, String ssn, List<String> reasons, List<String> dates) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (patientName == null || patientName.isBlank()) {
+            errors.put("patientName", "Patient name is required");
+        }
+        if (!Ssn.isValid(ssn)) {
+            errors.put("ssn", Ssn.FORMAT_MESSAGE);
+        }
+        if (reasons == null || reasons.isEmpty()) {
+            errors.put("reasons", "At least one reason is required");
+        }
+        if (dates == null || dates.isEmpty()) {
+            errors.put("dates", "At least one date is required");
+        }
+        if (reasons != null && dates != null && reasons.size() != dates.size()) {
+            errors.put("dates", "Expected " + reasons.size() + " dates, one per reason, but got " + dates.size());
+        }
+
+        if (reasons != null) {
+            for (int i = 0; i < reasons.size(); i++) {
+                String reason = reasons.get(i);
+                if (reason == null || reason.isBlank()) {
+                    errors.put("reasons[" + i + "]", "Reason is required");
+                }
+            }
+        }
+
+        List<LocalDateTime> parsed = new ArrayList<>(dates == null ? 0 : dates.size());
+        if (dates != null) {
+            for (int i = 0; i < dates.size(); i++) {
+                LocalDateTime date = IsoDateTime.parse(dates.get(i));
+                if (date == null) {
+                    errors.put("dates[" + i + "]", IsoDateTime.FORMAT_MESSAGE + ": " + dates.get(i));
+                }
+                parsed.add(date);
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new InvalidRequestException(errors);
+        }
+        return parsed;
+    }
+}
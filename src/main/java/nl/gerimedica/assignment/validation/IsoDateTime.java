@@ -0,0 +1,103 @@
+package nl.gerimedica.assignment.validation;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Parses ISO-8601 date-times as accepted by {@link DateTimeFormatter#ISO_DATE_TIME}, without the formatter
+ * for the common local form.
+ * - {@code yyyy-MM-ddTHH:mm}, optionally with seconds and up to 9 fraction digits, is scanned once by hand
+ * - Anything else (offsets, zone IDs, expanded years) falls back to the formatter, keeping the local date-time
+ * - A malformed or impossible date-time is reported as null instead of throwing
+ */
+public final class IsoDateTime {
+
+    public static final String FORMAT_MESSAGE = "Invalid date format";
+
+    private static final DateTimeFormatter FALLBACK = DateTimeFormatter.ISO_DATE_TIME;
+    private static final int MINUTES_LENGTH = 16;
+    private static final int SECONDS_LENGTH = 19;
+    private static final int MAX_FRACTION_DIGITS = 9;
+
+    private IsoDateTime() {
+    }
+
+    /**
+     * @param text Date-time in ISO-8601 form
+     * @return The local date-time, or null if the text is not a valid ISO-8601 date-time
+     */
+    public static LocalDateTime parse(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+
+        LocalDateTime parsed = parseLocal(text);
+        if (parsed != null) {
+            return parsed;
+        }
+        try {
+            return LocalDateTime.parse(text, FALLBACK);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime parseLocal(CharSequence text) {
+        int length = text.length();
+        if (length < MINUTES_LENGTH
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T' || text.charAt(13) != ':') {
+            return null;
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        int hour = digits(text, 11, 13);
+        int minute = digits(text, 14, 16);
+        int second = 0;
+        int nano = 0;
+
+        if (length > MINUTES_LENGTH) {
+            if (length < SECONDS_LENGTH || text.charAt(16) != ':') {
+                return null;
+            }
+            second = digits(text, 17, 19);
+
+            if (length > SECONDS_LENGTH) {
+                int fractionDigits = length - SECONDS_LENGTH - 1;
+                if (text.charAt(19) != '.' || fractionDigits < 1 || fractionDigits > MAX_FRACTION_DIGITS) {
+                    return null;
+                }
+                nano = digits(text, 20, length);
+                for (int i = fractionDigits; i < MAX_FRACTION_DIGITS && nano >= 0; i++) {
+                    nano *= 10;
+                }
+            }
+        }
+
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return The decimal value of {@code text[from, to)}, or -1 if it contains a non-digit
+     */
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
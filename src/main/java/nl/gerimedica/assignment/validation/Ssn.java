@@ -0,0 +1,68 @@
+package nl.gerimedica.assignment.validation;
+
+/**
+ * Parses and formats SSNs without regular expressions or intermediate allocations.
+ * - The API form is XXX-XX-XXXX, the stored form its 9 digits as an integer (leading zeros included)
+ * - Parsing scans the 11 characters once and reports a malformed SSN as -1 instead of throwing
+ */
+public final class Ssn {
+
+    public static final String FORMAT_MESSAGE = "SSN must be in format XXX-XX-XXXX";
+    public static final int MAX_VALUE = 999_999_999;
+
+    private static final int LENGTH = 11;
+
+    private Ssn() {
+    }
+
+    /**
+     * @param ssn SSN in the API form
+     * @return Its 9 digits as an integer, or -1 if it is not in the form XXX-XX-XXXX
+     */
+    public static int parse(CharSequence ssn) {
+        if (ssn == null || ssn.length() != LENGTH) {
+            return -1;
+        }
+
+        int value = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = ssn.charAt(i);
+            if (i == 3 || i == 6) {
+                if (c != '-') {
+                    return -1;
+                }
+            } else if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+            } else {
+                return -1;
+            }
+        }
+        return value;
+    }
+
+    public static boolean isValid(CharSequence ssn) {
+        return parse(ssn) >= 0;
+    }
+
+    /**
+     * @param value 9 digits as stored
+     * @return The SSN in the API form
+     * @throws IllegalArgumentException if the value has more than 9 digits or is negative
+     */
+    public static String format(int value) {
+        if (value < 0 || value > MAX_VALUE) {
+            throw new IllegalArgumentException("Not a stored SSN: " + value);
+        }
+
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            if (i == 3 || i == 6) {
+                chars[i] = '-';
+            } else {
+                chars[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,12 @@
+package nl.gerimedica.assignment.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class SsnValidator implements ConstraintValidator<ValidSsn, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || Ssn.isValid(value);
+    }
+}
@@ -0,0 +1,27 @@
+package nl.gerimedica.assignment.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated string must be an SSN in the form XXX-XX-XXXX, checked by {@link Ssn#isValid}.
+ * Null values are valid; combine with {@code @NotBlank} where the SSN is required.
+ */
+@Documented
+@Constraint(validatedBy = SsnValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.RECORD_COMPONENT, ElementType.TYPE_USE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidSsn {
+
+    String message() default Ssn.FORMAT_MESSAGE;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
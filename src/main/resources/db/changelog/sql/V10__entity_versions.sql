@@ -0,0 +1,3 @@
+-- Optimistic-locking versions; a patient's version also changes with each change to its appointments
+ALTER TABLE patients ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE appointments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- SSNs are stored as their 9 digits, XXX-XX-XXXX is only the API form; the unique index is rebuilt on the integer column
+ALTER TABLE patients ALTER COLUMN ssn TYPE INTEGER USING replace(ssn, '-', '')::integer;
@@ -0,0 +1,38 @@
+-- A patient has at most one appointment per date and reason; retried writes are skipped with ON CONFLICT DO NOTHING.
+-- Existing duplicates keep their highest id, which is also the one a latest-appointment pointer refers to.
+DELETE FROM appointments a
+USING appointments d
+WHERE d.patient_id = a.patient_id
+  AND d.appointment_date = a.appointment_date
+  AND d.reason_id = a.reason_id
+  AND d.id > a.id;
+
+-- Includes the partition key, so it is enforced on every partition
+ALTER TABLE appointments
+    ADD CONSTRAINT uq_appointments_patient_date_reason UNIQUE (patient_id, appointment_date, reason_id);
+
+-- The rollups counted the removed duplicates
+DELETE FROM appointment_counts_by_reason;
+DELETE FROM appointment_counts_by_day;
+DELETE FROM appointment_counts_by_reason_month;
+
+INSERT INTO appointment_counts_by_reason (reason_id, appointment_count)
+SELECT reason_id, COUNT(*) FROM appointments GROUP BY reason_id;
+
+INSERT INTO appointment_counts_by_day (appointment_day, appointment_count)
+SELECT CAST(appointment_date AS DATE), COUNT(*) FROM appointments GROUP BY CAST(appointment_date AS DATE);
+
+INSERT INTO appointment_counts_by_reason_month (reason_id, appointment_month, appointment_count)
+SELECT reason_id, CAST(date_trunc('month', appointment_date) AS DATE), COUNT(*)
+FROM appointments
+GROUP BY reason_id, CAST(date_trunc('month', appointment_date) AS DATE);
+
+-- Responses of bulk requests by their Idempotency-Key, replayed when a client retries the request
+CREATE TABLE idempotency_keys (
+                                  idempotency_key VARCHAR(255) PRIMARY KEY,
+                                  request_hash VARCHAR(64) NOT NULL,
+                                  response TEXT,
+                                  created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,2 @@
+-- Appointments of a job that the patient already had are skipped by the unique natural key, not created
+ALTER TABLE bulk_appointment_jobs ADD COLUMN skipped_count INTEGER NOT NULL DEFAULT 0;
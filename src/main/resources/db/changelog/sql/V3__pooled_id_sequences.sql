@@ -0,0 +1,4 @@
+-- Switch the BIGSERIAL sequences to pooled allocation.
+-- Hibernate reserves a block of 50 ids per nextval() call, so the increment must match the entity allocationSize.
+ALTER SEQUENCE patients_id_seq INCREMENT BY 50;
+ALTER SEQUENCE appointments_id_seq INCREMENT BY 50;
@@ -0,0 +1,4 @@
+-- Every reason query is case-insensitive, the plain btree is never used.
+-- No lower(reason) or trigram index replaces it: V5 resolves reason searches against the cached
+-- reason dictionary and drops the column, so building them here would only be thrown away.
+DROP INDEX idx_appointments_reason;
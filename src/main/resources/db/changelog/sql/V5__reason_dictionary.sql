@@ -0,0 +1,26 @@
+-- Dictionary of distinct appointment reasons, appointments reference it by a small integer id
+CREATE TABLE reasons (
+                         id SERIAL PRIMARY KEY,
+                         name VARCHAR(255) NOT NULL UNIQUE
+);
+
+INSERT INTO reasons (name)
+SELECT DISTINCT reason FROM appointments ORDER BY reason;
+
+-- Convert existing appointments in place
+ALTER TABLE appointments ADD COLUMN reason_id INTEGER;
+
+UPDATE appointments a
+SET reason_id = r.id
+FROM reasons r
+WHERE r.name = a.reason;
+
+ALTER TABLE appointments ALTER COLUMN reason_id SET NOT NULL;
+ALTER TABLE appointments
+    ADD CONSTRAINT fk_appointments_reason FOREIGN KEY (reason_id) REFERENCES reasons (id);
+
+-- Reason text searches are resolved against the cached dictionary, the text column is no longer needed
+ALTER TABLE appointments DROP COLUMN reason;
+
+-- Integer reason lookups and keyset pages ordered by (appointment_date, id)
+CREATE INDEX idx_appointments_reason_id ON appointments (reason_id, appointment_date, id);
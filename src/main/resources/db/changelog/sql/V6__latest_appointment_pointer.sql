@@ -0,0 +1,16 @@
+-- Denormalized pointer to each patient's latest appointment, maintained on write
+ALTER TABLE patients ADD COLUMN latest_appointment_id BIGINT;
+ALTER TABLE patients ADD COLUMN latest_appointment_date TIMESTAMP;
+
+-- Recomputing a pointer reads one entry of this index; it also serves every patient_id lookup
+CREATE INDEX idx_appointments_patient_date ON appointments (patient_id, appointment_date DESC, id DESC);
+DROP INDEX idx_appointments_patient_id;
+
+UPDATE patients p
+SET (latest_appointment_id, latest_appointment_date) = (
+    SELECT a.id, a.appointment_date
+    FROM appointments a
+    WHERE a.patient_id = p.id
+    ORDER BY a.appointment_date DESC, a.id DESC
+    LIMIT 1
+);
@@ -0,0 +1,50 @@
+-- Range-partition appointments by appointment_date, one partition per calendar month.
+-- Partitioned tables need the partition key in every unique constraint, so the primary key becomes (id, appointment_date);
+-- ids still come from appointments_id_seq and stay unique on their own.
+ALTER TABLE appointments RENAME TO appointments_unpartitioned;
+ALTER SEQUENCE appointments_id_seq OWNED BY NONE;
+
+CREATE TABLE appointments (
+                              id BIGINT NOT NULL DEFAULT nextval('appointments_id_seq'),
+                              appointment_date TIMESTAMP NOT NULL,
+                              patient_id BIGINT NOT NULL,
+                              reason_id INTEGER NOT NULL
+) PARTITION BY RANGE (appointment_date);
+
+ALTER SEQUENCE appointments_id_seq OWNED BY appointments.id;
+
+-- Monthly partitions appointments_yYYYYmMM from the oldest appointment up to twelve months ahead;
+-- PartitionMaintenanceJob keeps creating them ahead of time from here on
+DO $$
+DECLARE
+    month      TIMESTAMP := date_trunc('month', COALESCE((SELECT min(appointment_date) FROM appointments_unpartitioned), now()));
+    last_month TIMESTAMP := date_trunc('month', GREATEST((SELECT max(appointment_date) FROM appointments_unpartitioned), now()))
+                                + INTERVAL '12 months';
+BEGIN
+    WHILE month <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF appointments FOR VALUES FROM (%L) TO (%L)',
+                       'appointments_' || to_char(month, '"y"YYYY"m"MM'), month, month + INTERVAL '1 month');
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END
+$$;
+
+-- Catches appointments outside the created months instead of failing the insert
+CREATE TABLE appointments_default PARTITION OF appointments DEFAULT;
+
+INSERT INTO appointments (id, appointment_date, patient_id, reason_id)
+SELECT id, appointment_date, patient_id, reason_id
+FROM appointments_unpartitioned;
+
+DROP TABLE appointments_unpartitioned;
+
+-- Constraints and indexes are declared on the parent and created on every partition, present and future
+ALTER TABLE appointments ADD CONSTRAINT appointments_pkey PRIMARY KEY (id, appointment_date);
+ALTER TABLE appointments
+    ADD CONSTRAINT fk_appointments_patient FOREIGN KEY (patient_id) REFERENCES patients (id);
+ALTER TABLE appointments
+    ADD CONSTRAINT fk_appointments_reason FOREIGN KEY (reason_id) REFERENCES reasons (id);
+
+CREATE INDEX idx_appointments_date ON appointments (appointment_date);
+CREATE INDEX idx_appointments_reason_id ON appointments (reason_id, appointment_date, id);
+CREATE INDEX idx_appointments_patient_date ON appointments (patient_id, appointment_date DESC, id DESC);
@@ -0,0 +1,17 @@
+-- Outbox of bulk appointment requests accepted for asynchronous processing
+CREATE TABLE bulk_appointment_jobs (
+                                       id BIGSERIAL PRIMARY KEY,
+                                       status VARCHAR(20) NOT NULL,
+                                       payload TEXT NOT NULL,
+                                       item_count INTEGER NOT NULL,
+                                       created_count INTEGER NOT NULL DEFAULT 0,
+                                       failed_count INTEGER NOT NULL DEFAULT 0,
+                                       failures TEXT,
+                                       error VARCHAR(1000),
+                                       created_at TIMESTAMP NOT NULL,
+                                       completed_at TIMESTAMP
+);
+
+-- The drainer and the queue bound only look at queued jobs, which stay a small part of the table
+CREATE INDEX idx_bulk_appointment_jobs_queued ON bulk_appointment_jobs (id) INCLUDE (item_count) WHERE status = 'QUEUED';
+CREATE INDEX idx_bulk_appointment_jobs_completed_at ON bulk_appointment_jobs (completed_at) WHERE completed_at IS NOT NULL;
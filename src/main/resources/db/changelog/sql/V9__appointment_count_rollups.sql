@@ -0,0 +1,28 @@
+-- Appointment counts per reason, per day and per reason and month, kept up to date by the writing transactions
+CREATE TABLE appointment_counts_by_reason (
+                                              reason_id INTEGER PRIMARY KEY REFERENCES reasons (id),
+                                              appointment_count BIGINT NOT NULL
+);
+
+CREATE TABLE appointment_counts_by_day (
+                                           appointment_day DATE PRIMARY KEY,
+                                           appointment_count BIGINT NOT NULL
+);
+
+CREATE TABLE appointment_counts_by_reason_month (
+                                                    reason_id INTEGER NOT NULL REFERENCES reasons (id),
+                                                    appointment_month DATE NOT NULL,
+                                                    appointment_count BIGINT NOT NULL,
+                                                    PRIMARY KEY (reason_id, appointment_month)
+);
+
+INSERT INTO appointment_counts_by_reason (reason_id, appointment_count)
+SELECT reason_id, COUNT(*) FROM appointments GROUP BY reason_id;
+
+INSERT INTO appointment_counts_by_day (appointment_day, appointment_count)
+SELECT CAST(appointment_date AS DATE), COUNT(*) FROM appointments GROUP BY CAST(appointment_date AS DATE);
+
+INSERT INTO appointment_counts_by_reason_month (reason_id, appointment_month, appointment_count)
+SELECT reason_id, CAST(date_trunc('month', appointment_date) AS DATE), COUNT(*)
+FROM appointments
+GROUP BY reason_id, CAST(date_trunc('month', appointment_date) AS DATE);
@@ -5,12 +5,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import nl.gerimedica.assignment.dto.ApiResponse;
 import nl.gerimedica.assignment.entity.Patient;
 import nl.gerimedica.assignment.repository.AppointmentRepository;
+import nl.gerimedica.assignment.repository.BulkAppointmentJobRepository;
 import nl.gerimedica.assignment.repository.PatientRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
@@ -51,6 +53,9 @@ public class FullIntegrationTest {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private BulkAppointmentJobRepository bulkAppointmentJobRepository;
+
     @BeforeEach
     void setUp() {
         // Clean up database
@@ -155,6 +160,36 @@ public class FullIntegrationTest {
         }
     }
 
+    @Test
+    void createAppointmentsAsync_shouldRejectWhenOutboxIsFull() {
+        bulkAppointmentJobRepository.deleteAll();
+
+        Map<String, Object> request = new HashMap<>();
+        request.put("patientName", "Queued Patient");
+        request.put("ssn", SSN);
+        request.put("reasons", Arrays.asList("Reason 1", "Reason 2", "Reason 3"));
+        String date = LocalDateTime.now().plusDays(1).format(DateTimeFormatter.ISO_DATE_TIME);
+        request.put("dates", Arrays.asList(date, date, date));
+
+        // The test profile bounds the outbox at 5 queued appointments and does not drain it
+        ResponseEntity<String> accepted = restTemplate.postForEntity(
+                "/api/hospital/appointments/bulk/async", request, String.class);
+        assertEquals(HttpStatus.ACCEPTED, accepted.getStatusCode());
+        assertNotNull(accepted.getHeaders().getLocation());
+
+        ResponseEntity<String> status = restTemplate.getForEntity(
+                accepted.getHeaders().getLocation(), String.class);
+        assertEquals(HttpStatus.OK, status.getStatusCode());
+        assertTrue(status.getBody().contains("\"status\":\"QUEUED\""), status.getBody());
+
+        ResponseEntity<String> rejected = restTemplate.postForEntity(
+                "/api/hospital/appointments/bulk/async", request, String.class);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals("5", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        bulkAppointmentJobRepository.deleteAll();
+    }
+
     @Test
     void deleteAppointments_shouldDeleteAllAppointments() {
         // Arrange - Create a patient with appointments
@@ -0,0 +1,96 @@
+package nl.gerimedica.assignment.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests of the audit pipeline: ring buffer, segment rollover and masked output
+ */
+public class AuditLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void ringBufferRejectsRecordsWhenFull() {
+        var buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(record(i)));
+        }
+        assertFalse(buffer.offer(record(4)));
+        assertEquals(4, buffer.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, buffer.poll().count());
+        }
+        assertNull(buffer.poll());
+        assertTrue(buffer.offer(record(5)));
+    }
+
+    @Test
+    void ssnKeepsOnlyLastFourDigits() {
+        assertEquals("***-**-6789", SsnMasker.mask("123-45-6789"));
+        assertNull(SsnMasker.mask(null));
+    }
+
+    @Test
+    void mappedFileRollsOverAndTruncatesSegments() throws Exception {
+        byte[] line = "0123456789\n".getBytes(StandardCharsets.UTF_8);
+        try (var file = new MappedAuditFile(directory, 32)) {
+            for (int i = 0; i < 5; i++) {
+                file.append(line);
+            }
+            assertEquals(3, file.segments());
+        }
+
+        List<Long> sizes = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory).sorted()) {
+            for (Path path : files.toList()) {
+                sizes.add(Files.size(path));
+            }
+        }
+        assertEquals(List.of(22L, 22L, 11L), sizes);
+    }
+
+    @Test
+    void writesMaskedRecordsAndCountsThem() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var auditLog = new AuditLog(registry, true, directory, DataSize.ofKilobytes(64), 1024, 16);
+        auditLog.start();
+        for (int i = 0; i < 100; i++) {
+            auditLog.appointmentCreated("123-45-6789", "Checkup", LocalDateTime.of(2025, 1, 1, 10, 0));
+        }
+        auditLog.appointmentsDeleted("123-45-6789", 100);
+        auditLog.stop();
+
+        List<String> lines;
+        try (Stream<Path> files = Files.list(directory)) {
+            lines = Files.readAllLines(files.findFirst().orElseThrow());
+        }
+        assertEquals(101, lines.size());
+        assertTrue(lines.get(0).contains("APPOINTMENT_CREATED ssn=***-**-6789 count=1 reason=\"Checkup\" date=2025-01-01T10:00"));
+        assertTrue(lines.get(100).contains("APPOINTMENTS_DELETED ssn=***-**-6789 count=100"));
+        assertTrue(lines.stream().noneMatch(line -> line.contains("123-45")));
+        assertEquals(101, registry.get("hospital.audit.written").counter().count());
+        assertEquals(0, registry.get("hospital.audit.dropped").counter().count());
+    }
+
+    private static AuditRecord record(long count) {
+        return new AuditRecord(0, AuditRecord.Action.APPOINTMENT_CREATED, "123-45-6789", "Checkup", null, count);
+    }
+}
@@ -0,0 +1,94 @@
+package nl.gerimedica.assignment.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.gerimedica.assignment.repository.AppointmentRepository;
+import nl.gerimedica.assignment.repository.PatientRepository;
+import nl.gerimedica.assignment.service.HospitalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies read/write routing between the primary and the replica pool.
+ * The replica defaults to the local primary database, told apart by the connection's application_name;
+ * set HOSPITAL_REPLICA_URL to run against a second instance.
+ */
+@SpringBootTest(properties = {
+        "hospital.replica.enabled=true",
+        "hospital.replica.url=${HOSPITAL_REPLICA_URL:jdbc:postgresql://localhost:5432/postgres}",
+        "hospital.replica.hikari.maximum-pool-size=2",
+        "hospital.replica.hikari.minimum-idle=1",
+        "hospital.replica.hikari.data-source-properties.ApplicationName=hospital-replica",
+        "spring.datasource.hikari.data-source-properties.ApplicationName=hospital-primary",
+        "hospital.async-bulk.drainer-enabled=false"
+})
+public class ReplicaRoutingTest {
+
+    private static final String SSN = "321-54-9876";
+    private static final String APPLICATION_NAME = "SELECT current_setting('application_name')";
+
+    @Autowired
+    private HospitalService hospitalService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        assertEquals("hospital-replica", inTransaction(true));
+        assertEquals("hospital-primary", inTransaction(false));
+        assertEquals("hospital-primary", jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+    }
+
+    @Test
+    void readsAfterWriteForSameSsnArePinnedToPrimary() {
+        double pinned = routed("primary", "read-your-writes");
+        double replicaReads = routed("replica", "read-only");
+
+        hospitalService.bulkCreateAppointments("Replica Patient", SSN, List.of("Checkup"), List.of("2025-02-01T10:00:00"));
+
+        assertNotNull(hospitalService.findLatestAppointmentBySSN(SSN));
+        assertEquals(pinned + 1, routed("primary", "read-your-writes"));
+
+        hospitalService.getAppointmentsByReason("Checkup");
+        assertTrue(routed("replica", "read-only") > replicaReads);
+    }
+
+    private String inTransaction(boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+    }
+
+    private double routed(String pool, String reason) {
+        return meterRegistry.get("hospital.db.routing").tag("pool", pool).tag("reason", reason).counter().count();
+    }
+}
@@ -1,6 +1,7 @@
 package nl.gerimedica.assignment.integration.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import nl.gerimedica.assignment.entity.Appointment;
 import nl.gerimedica.assignment.entity.Patient;
 import nl.gerimedica.assignment.repository.AppointmentRepository;
@@ -12,14 +13,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -42,6 +49,9 @@ public class AppointmentControllerTest {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         // Clean up database
@@ -65,6 +75,44 @@ public class AppointmentControllerTest {
                 .andExpect(jsonPath("$.data.ssn").value(SSN));
     }
 
+    @Test
+    void getPatient_shouldServeRepeatedLookupsFromCache() throws Exception {
+        mockMvc.perform(get("/api/hospital/patients/123-22-4567"))
+                .andExpect(status().isOk());
+        double hits = meterRegistry.counter("hospital.patients.cache.hits").count();
+
+        mockMvc.perform(get("/api/hospital/patients/123-22-4567"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.ssn").value(SSN));
+
+        // One hit for the ETag check, one for the patient itself
+        assertEquals(hits + 2, meterRegistry.counter("hospital.patients.cache.hits").count());
+    }
+
+    @Test
+    void getPatient_shouldNotServeDeletedPatientFromCache() throws Exception {
+        mockMvc.perform(get("/api/hospital/patients/123-22-4567"))
+                .andExpect(status().isOk());
+
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+
+        mockMvc.perform(get("/api/hospital/patients/123-22-4567"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void databaseAccess_shouldGoThroughConnectionBulkhead() throws Exception {
+        long waits = meterRegistry.get("hospital.db.bulkhead.wait").timer().count();
+
+        mockMvc.perform(get("/api/hospital/appointments/reason/exact")
+                        .param("reason", "Simple Test Reason"))
+                .andExpect(status().isOk());
+
+        assertTrue(meterRegistry.get("hospital.db.bulkhead.wait").timer().count() > waits);
+        assertEquals(0.0, meterRegistry.get("hospital.db.bulkhead.rejected").counter().count());
+    }
+
     @Test
     void getAppointmentsByReason_shouldReturnMatchingAppointments() throws Exception {
         mockMvc.perform(get("/api/hospital/appointments/reason/exact")
@@ -75,6 +123,100 @@ public class AppointmentControllerTest {
                 .andExpect(jsonPath("$.data[0].reason").value("Simple Test Reason"));
     }
 
+    @Test
+    void getAppointmentsByReasonPage_shouldWalkPagesWithCursor() throws Exception {
+        Patient patient = patientRepository.findBySsn(SSN).orElseThrow();
+        for (int day = 1; day <= 2; day++) {
+            appointmentRepository.save(new Appointment("Simple Test Reason",
+                    LocalDateTime.now().plusDays(7 + day), patient));
+        }
+
+        String firstPage = mockMvc.perform(get("/api/hospital/appointments/reason/exact/page")
+                        .param("reason", "simple test reason")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(2)))
+                .andExpect(jsonPath("$.data.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        String cursor = objectMapper.readTree(firstPage).at("/data/nextCursor").asText();
+
+        mockMvc.perform(get("/api/hospital/appointments/reason/exact/page")
+                        .param("reason", "simple test reason")
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(1)))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getAppointmentsByReason_shouldListEachPatientOnceWhenNormalized() throws Exception {
+        Patient patient = patientRepository.findBySsn(SSN).orElseThrow();
+        appointmentRepository.save(new Appointment("Simple Test Reason", LocalDateTime.now().plusDays(8), patient));
+        Patient other = patientRepository.save(new Patient("Other Test Patient", "123-22-9999"));
+        appointmentRepository.save(new Appointment("Simple Test Reason", LocalDateTime.now().plusDays(9), other));
+
+        mockMvc.perform(get("/api/hospital/appointments/reason/exact")
+                        .param("reason", "Simple Test Reason")
+                        .param("normalized", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.patients", hasSize(2)))
+                .andExpect(jsonPath("$.data.patients[*].ssn", containsInAnyOrder(SSN, "123-22-9999")))
+                .andExpect(jsonPath("$.data.appointments", hasSize(3)))
+                .andExpect(jsonPath("$.data.appointments[0].patient").isNumber())
+                .andExpect(jsonPath("$.data.appointments[0].reason").value("Simple Test Reason"));
+    }
+
+    @Test
+    void getAppointmentsInRange_shouldFilterByRangeReasonAndPatient() throws Exception {
+        Patient patient = patientRepository.findBySsn(SSN).orElseThrow();
+        Patient other = patientRepository.save(new Patient("Other Range Patient", "123-22-9999"));
+        appointmentRepository.save(new Appointment("Range Reason", LocalDateTime.of(2024, 1, 31, 23, 0), patient));
+        appointmentRepository.save(new Appointment("Range Reason", LocalDateTime.of(2024, 2, 10, 9, 0), patient));
+        appointmentRepository.save(new Appointment("Other Reason", LocalDateTime.of(2024, 2, 11, 9, 0), patient));
+        appointmentRepository.save(new Appointment("Range Reason", LocalDateTime.of(2024, 2, 12, 9, 0), other));
+        appointmentRepository.save(new Appointment("Range Reason", LocalDateTime.of(2024, 3, 1, 0, 0), patient));
+
+        mockMvc.perform(get("/api/hospital/appointments/range")
+                        .param("from", "2024-02-01T00:00:00")
+                        .param("to", "2024-03-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(3)))
+                .andExpect(jsonPath("$.data.items[0].appointmentDate").value("2024-02-10T09:00:00"));
+
+        mockMvc.perform(get("/api/hospital/appointments/range")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2024-04-01T00:00:00")
+                        .param("reason", "range reason")
+                        .param("ssn", SSN)
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(2)))
+                .andExpect(jsonPath("$.data.items[*].reason", everyItem(is("Range Reason"))))
+                .andExpect(jsonPath("$.data.items[*].patient.ssn", everyItem(is(SSN))))
+                .andExpect(jsonPath("$.data.nextCursor").isNotEmpty());
+
+        mockMvc.perform(get("/api/hospital/appointments/range")
+                        .param("from", "2024-03-01T00:00:00")
+                        .param("to", "2024-02-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamAppointmentsContainingReason_shouldStreamAllMatches() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/hospital/appointments/reason/contains/stream")
+                        .param("keyword", "test reason"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].patient.ssn").value(SSN));
+    }
+
     @Test
     void createBulkAppointments_shouldCreateAppointments() throws Exception {
         // Arrange
@@ -101,6 +243,87 @@ public class AppointmentControllerTest {
                 .andExpect(jsonPath("$.data[0].patient.name").value("Simple Test Patient"));
     }
 
+    @Test
+    void createBulkAppointments_shouldReplayIdempotencyKeyAndSkipExistingAppointments() throws Exception {
+        int before = appointmentRepository.findByPatientSsn(SSN).size();
+        String key = UUID.randomUUID().toString();
+        String request = objectMapper.writeValueAsString(Map.of(
+                "patientName", "Simple Test Patient",
+                "ssn", SSN,
+                "reasons", Arrays.asList("Retried Reason", "Retried Reason"),
+                "dates", Arrays.asList("2030-05-01T09:00:00", "2030-05-02T09:00:00")
+        ));
+
+        for (String replayed : List.of("false", "true")) {
+            mockMvc.perform(post("/api/hospital/appointments/bulk")
+                            .header("Idempotency-Key", key)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(request))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", replayed))
+                    .andExpect(jsonPath("$.data", hasSize(2)));
+        }
+
+        // Without a key the retry reaches the database, where the natural key skips both appointments
+        mockMvc.perform(post("/api/hospital/appointments/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data", hasSize(0)));
+        assertEquals(before + 2, appointmentRepository.findByPatientSsn(SSN).size());
+        assertTrue(appointmentRepository.findByPatientSsn(SSN).stream()
+                .anyMatch(appointment -> appointment.getAppointmentDate().equals(LocalDateTime.of(2030, 5, 1, 9, 0))));
+
+        mockMvc.perform(post("/api/hospital/appointments/bulk")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request.replace("2030-05-02", "2030-05-03")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createBulkAppointmentsAsync_shouldDrainJobAndReportItemFailuresAndSkips() throws Exception {
+        String date = LocalDateTime.now().plusDays(3).format(DateTimeFormatter.ISO_DATE_TIME);
+        String laterDate = LocalDateTime.now().plusDays(4).format(DateTimeFormatter.ISO_DATE_TIME);
+        Map<String, Object> request = Map.of(
+                "patientName", "Async Patient",
+                "ssn", "123-22-7777",
+                "reasons", Arrays.asList("Async Reason", "Async Reason", "Async Reason", "Async Reason"),
+                "dates", Arrays.asList(date, "not-a-date", laterDate, date)
+        );
+
+        String accepted = mockMvc.perform(post("/api/hospital/appointments/bulk/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString("/api/hospital/appointments/bulk/jobs/")))
+                .andExpect(jsonPath("$.data.items").value(4))
+                .andReturn().getResponse().getContentAsString();
+        long jobId = objectMapper.readTree(accepted).at("/data/jobId").asLong();
+
+        // The drainer polls the outbox every 250 ms
+        String status = "QUEUED";
+        for (int attempt = 0; attempt < 100 && status.equals("QUEUED"); attempt++) {
+            Thread.sleep(100);
+            String body = mockMvc.perform(get("/api/hospital/appointments/bulk/jobs/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            status = objectMapper.readTree(body).at("/data/status").asText();
+        }
+        assertEquals("COMPLETED", status);
+
+        mockMvc.perform(get("/api/hospital/appointments/bulk/jobs/{jobId}", jobId))
+                .andExpect(jsonPath("$.data.created").value(2))
+                .andExpect(jsonPath("$.data.skipped").value(1))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.failures[0].index").value(1))
+                .andExpect(jsonPath("$.data.completedAt").isNotEmpty());
+        assertEquals(2, appointmentRepository.findByPatientSsn("123-22-7777").size());
+
+        mockMvc.perform(get("/api/hospital/appointments/bulk/jobs/{jobId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void deleteAppointments_shouldDeleteAllAppointments() throws Exception {
         // Verify appointments exist before delete
@@ -121,6 +344,103 @@ public class AppointmentControllerTest {
                 .andExpect(jsonPath("$.data").doesNotExist());
     }
 
+    @Test
+    void deleteAppointmentsBatch_shouldDeleteForKnownAndReportUnknownSsns() throws Exception {
+        Map<String, Object> request = Map.of("ssns", Arrays.asList(SSN, "000-00-0000", SSN));
+
+        mockMvc.perform(post("/api/hospital/appointments/patients/delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.ssnsRequested").value(2))
+                .andExpect(jsonPath("$.data.patientsFound").value(1))
+                .andExpect(jsonPath("$.data.deleted").value(1))
+                .andExpect(jsonPath("$.data.notFound[0]").value("000-00-0000"));
+
+        mockMvc.perform(get("/api/hospital/appointments/latest/{ssn}", SSN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @Test
+    void getLatestAppointment_shouldAnswerNotModifiedUntilAppointmentsChange() throws Exception {
+        String eTag = mockMvc.perform(get("/api/hospital/appointments/latest/{ssn}", SSN))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/hospital/appointments/latest/{ssn}", SSN).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/hospital/patients/{ssn}", SSN).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        Map<String, Object> request = Map.of(
+                "patientName", "Simple Test Patient",
+                "ssn", SSN,
+                "reasons", Arrays.asList("Newer Reason"),
+                "dates", Arrays.asList(LocalDateTime.now().plusDays(60).format(DateTimeFormatter.ISO_DATE_TIME))
+        );
+        mockMvc.perform(post("/api/hospital/appointments/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/hospital/appointments/latest/{ssn}", SSN).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.data.reason").value("Newer Reason"));
+    }
+
+    @Test
+    void lookupPatients_shouldReturnPatientsWithLatestAppointmentAndReportUnknownSsns() throws Exception {
+        patientRepository.save(new Patient("Patient Without Appointments", "321-22-4567"));
+        Map<String, Object> request = Map.of("ssns", Arrays.asList("000-00-0000", SSN, "321-22-4567", "321-224-567", SSN));
+
+        mockMvc.perform(post("/api/hospital/patients/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.patients", hasSize(2)))
+                .andExpect(jsonPath("$.data.patients[0].ssn").value(SSN))
+                .andExpect(jsonPath("$.data.patients[0].latestAppointment.reason").value("Simple Test Reason"))
+                .andExpect(jsonPath("$.data.patients[1].ssn").value("321-22-4567"))
+                .andExpect(jsonPath("$.data.patients[1].latestAppointment").doesNotExist())
+                .andExpect(jsonPath("$.data.notFound", contains("000-00-0000", "321-224-567")));
+
+        mockMvc.perform(get("/api/hospital/patients/{ssn}", "321-224-567"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getLatestAppointment_shouldFollowWritesAndDeletes() throws Exception {
+        String later = LocalDateTime.now().plusDays(30).format(DateTimeFormatter.ISO_DATE_TIME);
+        String earlier = LocalDateTime.now().plusDays(1).format(DateTimeFormatter.ISO_DATE_TIME);
+        Map<String, Object> request = Map.of(
+                "patientName", "Simple Test Patient",
+                "ssn", SSN,
+                "reasons", Arrays.asList("Later Reason", "Earlier Reason"),
+                "dates", Arrays.asList(later, earlier)
+        );
+
+        mockMvc.perform(post("/api/hospital/appointments/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/hospital/appointments/latest/{ssn}", SSN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.reason").value("Later Reason"));
+
+        mockMvc.perform(delete("/api/hospital/appointments/patient/{ssn}", SSN))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/hospital/appointments/latest/{ssn}", SSN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
     @Test
     void invalidRequest_shouldReturnValidationError() throws Exception {
         // Missing required fields
@@ -137,10 +457,94 @@ public class AppointmentControllerTest {
                 .andExpect(jsonPath("$.message").value("Validation failed"));
     }
 
+    @Test
+    void invalidBulkRequest_shouldReportAllErrorsWithoutCreatingThePatient() throws Exception {
+        Map<String, Object> request = Map.of(
+                "patientName", "Invalid Dates Patient",
+                "ssn", "123-22-8888",
+                "reasons", Arrays.asList("Checkup", " ", "Checkup"),
+                "dates", Arrays.asList("2025-02-30T10:00:00", "2025-03-01T10:00:00.5", "03/01/2025", "2025-03-01T10:00")
+        );
+
+        mockMvc.perform(post("/api/hospital/appointments/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Validation failed"))
+                .andExpect(jsonPath("$.data.dates").value("Expected 3 dates, one per reason, but got 4"))
+                .andExpect(jsonPath("$.data['reasons[1]']").value("Reason is required"))
+                .andExpect(jsonPath("$.data['dates[0]']").exists())
+                .andExpect(jsonPath("$.data['dates[1]']").doesNotExist())
+                .andExpect(jsonPath("$.data['dates[2]']").value("Invalid date format: 03/01/2025"));
+
+        assertFalse(patientRepository.existsBySsn("123-22-8888"));
+    }
+
+    @Test
+    void importNdjson_shouldImportValidLinesAndReportErrors() throws Exception {
+        String body = String.join("\n",
+                "{\"patientName\":\"Import One\",\"ssn\":\"111-22-3333\",\"reason\":\"Import A\",\"date\":\"2024-05-01T09:00:00\"}",
+                "{\"patientName\":\"Import Two\",\"ssn\":\"444-55-6666\",\"reason\":\"Import B\",\"date\":\"2024-05-02T09:00:00\"}",
+                "{\"patientName\":\"Import Two\",\"ssn\":\"444-55-6666\",\"reason\":\"Import C\",\"date\":\"not-a-date\"}",
+                "null");
+
+        mockMvc.perform(post("/api/hospital/appointments/import")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.linesRead").value(4))
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.failed").value(2))
+                .andExpect(jsonPath("$.data.errors[0].line").value(3))
+                .andExpect(jsonPath("$.data.errors[1].line").value(4))
+                .andExpect(jsonPath("$.data.errors[1].message").value("Malformed JSON line"));
+
+        mockMvc.perform(get("/api/hospital/patients/444-55-6666"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Import Two"));
+    }
+
+    @Test
+    void importCsv_shouldImportQuotedFields() throws Exception {
+        String body = String.join("\n",
+                "patientName,ssn,reason,date",
+                "\"Smith, John\",777-88-9999,Annual Checkup,2024-05-03T09:00:00");
+
+        mockMvc.perform(post("/api/hospital/appointments/import")
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1))
+                .andExpect(jsonPath("$.data.failed").value(0));
+
+        mockMvc.perform(get("/api/hospital/patients/777-88-9999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("Smith, John"));
+    }
+
     @Test
     void getMetrics_shouldReturnMetricsData() throws Exception {
         mockMvc.perform(get("/api/metrics/hospital"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
     }
+
+    @Test
+    void getMetrics_shouldReportTaggedCountersAndLayerTimers() throws Exception {
+        mockMvc.perform(get("/api/hospital/appointments/reason/exact").param("reason", "Simple Test Reason"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/metrics/hospital"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.counters['hospital.appointments.query.count']").value(greaterThanOrEqualTo(1.0)))
+                .andExpect(jsonPath("$.data.counters['hospital.hibernate.statements']").value(greaterThan(0.0)))
+                .andExpect(jsonPath("$.data.timers[?(@.name == 'hospital.service' " +
+                        "&& @.tags.method == 'getAppointmentsByReason')].percentiles['0.99']").isNotEmpty())
+                .andExpect(jsonPath("$.data.timers[?(@.name == 'hospital.endpoint.layer' " +
+                        "&& @.tags.endpoint == '/api/hospital/appointments/reason/exact' " +
+                        "&& @.tags.layer == 'repository')].count").value(hasItem(greaterThanOrEqualTo(1))))
+                .andExpect(jsonPath("$.data.timers[?(@.name == 'hospital.endpoint.layer' " +
+                        "&& @.tags.endpoint == '/api/hospital/appointments/reason/exact' " +
+                        "&& @.tags.layer == 'serialization')]").isNotEmpty());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package nl.gerimedica.assignment.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies against the local PostgreSQL that the reason searches and latest-appointment lookups are served by their indexes,
+ * and that date range searches only read the monthly partitions overlapping the range.
+ * Sequential scans are disabled per transaction, so a seq scan in the plan means the index is unusable.
+ * Indexes declared on the partitioned table appear in plans under their per-partition names, e.g.
+ * appointments_y2024m01_reason_id_appointment_date_id_idx for idx_appointments_reason_id.
+ */
+@SpringBootTest
+public class AppointmentQueryPlanTest {
+
+    private static final int ROWS = 2_000;
+    private static final int REASONS = 200;
+    private static final int PATIENTS = 100;
+    private static final long FIRST_PATIENT_ID = 1_000_000;
+    private static final String REASON_ID_INDEX = "_reason_id_appointment_date_id_idx";
+    private static final YearMonth FAR_FUTURE_MONTH = YearMonth.of(2099, 5);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AppointmentPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        List<Object[]> patients = new ArrayList<>(PATIENTS);
+        for (int i = 0; i < PATIENTS; i++) {
+            patients.add(new Object[]{FIRST_PATIENT_ID + i, "Plan Patient " + i, 900_000_000 + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO patients (id, name, ssn) VALUES (?, ?, ?)", patients);
+
+        List<Object[]> reasons = new ArrayList<>(REASONS);
+        for (int i = 0; i < REASONS; i++) {
+            reasons.add(new Object[]{"Plan Reason " + i});
+        }
+        // Reasons are shared dictionary entries, they are left in place between runs
+        jdbcTemplate.batchUpdate("INSERT INTO reasons (name) VALUES (?) ON CONFLICT DO NOTHING", reasons);
+
+        // The rows span January to March 2024; partitions are only created ahead of time for recent months
+        partitionManager.createMonthlyPartitions(YearMonth.of(2024, 1), YearMonth.of(2024, 3));
+
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{Timestamp.valueOf(start.plusHours(i)), FIRST_PATIENT_ID + i % PATIENTS,
+                    "Plan Reason " + (i % REASONS)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO appointments (reason_id, appointment_date, patient_id) " +
+                "SELECT id, ?, ? FROM reasons WHERE name = ?", rows);
+        jdbcTemplate.update("UPDATE patients p SET (latest_appointment_id, latest_appointment_date) = (" +
+                "SELECT a.id, a.appointment_date FROM appointments a WHERE a.patient_id = p.id " +
+                "ORDER BY a.appointment_date DESC, a.id DESC LIMIT 1) WHERE p.id >= ?", FIRST_PATIENT_ID);
+        jdbcTemplate.execute("ANALYZE patients");
+        jdbcTemplate.execute("ANALYZE appointments");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM appointments WHERE patient_id >= ?", FIRST_PATIENT_ID);
+        jdbcTemplate.update("DELETE FROM patients WHERE id >= ?", FIRST_PATIENT_ID);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + AppointmentPartitionManager.partitionName(FAR_FUTURE_MONTH));
+    }
+
+    @Test
+    void reasonSearch_shouldUseReasonIdIndex() {
+        String plan = explain("SELECT a.id, a.reason_id, a.appointment_date, p.name, p.ssn " +
+                "FROM appointments a JOIN patients p ON p.id = a.patient_id " +
+                "WHERE a.reason_id IN (" + reasonIds("Plan Reason 7", "Plan Reason 17") + ")");
+
+        assertTrue(plan.contains(REASON_ID_INDEX), plan);
+        assertTrue(!plan.contains("Seq Scan on appointments"), plan);
+    }
+
+    @Test
+    void reasonKeysetPage_shouldUseReasonIdIndex() {
+        String plan = explain("SELECT a.id FROM appointments a " +
+                "WHERE a.reason_id IN (" + reasonIds("Plan Reason 7") + ") " +
+                "AND (a.appointment_date > '2024-01-02 00:00:00' " +
+                "OR (a.appointment_date = '2024-01-02 00:00:00' AND a.id > 0)) " +
+                "ORDER BY a.appointment_date, a.id LIMIT 101");
+
+        assertTrue(plan.contains(REASON_ID_INDEX), plan);
+        assertTrue(!plan.contains("Seq Scan on appointments"), plan);
+    }
+
+    @Test
+    void latestAppointment_shouldBeIndexLookupsWithoutSort() {
+        String plan = explain("SELECT a.reason_id, a.appointment_date, p.name, p.ssn " +
+                "FROM patients p JOIN appointments a " +
+                "ON a.id = p.latest_appointment_id AND a.appointment_date = p.latest_appointment_date " +
+                "WHERE p.id = " + (FIRST_PATIENT_ID + 7));
+
+        assertTrue(plan.contains("patients_pkey"), plan);
+        assertTrue(!plan.contains("Sort"), plan);
+        assertTrue(!plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    void latestAppointmentBySsns_shouldBeIndexLookupsWithoutSort() {
+        String plan = explain("SELECT p.id, p.name, p.ssn, a.reason_id, a.appointment_date " +
+                "FROM patients p LEFT JOIN appointments a " +
+                "ON a.id = p.latest_appointment_id AND a.appointment_date = p.latest_appointment_date " +
+                "WHERE p.ssn IN (900000007, 900000017, 900000042, 0)");
+
+        assertTrue(!plan.contains("Sort"), plan);
+        assertTrue(!plan.contains("Seq Scan on appointments"), plan);
+    }
+
+    @Test
+    void dateRange_shouldScanOnlyOverlappingPartitions() {
+        String plan = explain("SELECT a.id, a.reason_id, a.appointment_date, p.name, p.ssn " +
+                "FROM appointments a JOIN patients p ON p.id = a.patient_id " +
+                "WHERE a.appointment_date >= '2024-02-01 00:00:00' AND a.appointment_date < '2024-02-15 00:00:00' " +
+                "ORDER BY a.appointment_date, a.id LIMIT 101");
+
+        assertTrue(plan.contains("appointments_y2024m02"), plan);
+        assertFalse(plan.contains("appointments_y2024m01"), plan);
+        assertFalse(plan.contains("appointments_y2024m03"), plan);
+        assertFalse(plan.contains("appointments_default"), plan);
+    }
+
+    @Test
+    void dateRangeWithReason_shouldScanOnlyOverlappingPartitionsByReasonIndex() {
+        String plan = explain("SELECT a.id FROM appointments a " +
+                "WHERE a.appointment_date >= '2024-01-15 00:00:00' AND a.appointment_date < '2024-02-15 00:00:00' " +
+                "AND a.reason_id IN (" + reasonIds("Plan Reason 7") + ") " +
+                "ORDER BY a.appointment_date, a.id LIMIT 101");
+
+        assertTrue(plan.contains("appointments_y2024m01" + REASON_ID_INDEX), plan);
+        assertTrue(plan.contains("appointments_y2024m02" + REASON_ID_INDEX), plan);
+        assertFalse(plan.contains("appointments_y2024m03"), plan);
+        assertFalse(plan.contains("appointments_default"), plan);
+    }
+
+    @Test
+    void dateRangeWithBoundParameters_shouldPrunePartitionsAtExecution() {
+        // Hibernate binds the range as parameters; a generic plan can only prune when the statement is executed
+        String plan = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            jdbcTemplate.execute("PREPARE range_query (timestamp, timestamp) AS " +
+                    "SELECT a.id FROM appointments a WHERE a.appointment_date >= $1 AND a.appointment_date < $2");
+            try {
+                return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (ANALYZE, COSTS OFF) " +
+                        "EXECUTE range_query ('2024-02-01 00:00:00', '2024-02-15 00:00:00')", String.class));
+            } finally {
+                jdbcTemplate.execute("DEALLOCATE range_query");
+            }
+        });
+
+        assertTrue(plan.contains("Subplans Removed"), plan);
+        assertTrue(plan.contains("appointments_y2024m02"), plan);
+        assertFalse(plan.contains("appointments_y2024m01"), plan);
+    }
+
+    @Test
+    void partitionManager_shouldMoveDefaultPartitionRowsIntoNewPartition() {
+        String partition = AppointmentPartitionManager.partitionName(FAR_FUTURE_MONTH);
+        jdbcTemplate.update("INSERT INTO appointments (reason_id, appointment_date, patient_id, version) " +
+                        "SELECT id, ?, ?, 3 FROM reasons WHERE name = ?",
+                Timestamp.valueOf(FAR_FUTURE_MONTH.atDay(10).atTime(9, 0)), FIRST_PATIENT_ID, "Plan Reason 1");
+
+        assertEquals(1, partitionManager.createMonthlyPartitions(FAR_FUTURE_MONTH, FAR_FUTURE_MONTH));
+        assertEquals(0, partitionManager.createMonthlyPartitions(FAR_FUTURE_MONTH, FAR_FUTURE_MONTH));
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM " + partition, Integer.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT version FROM " + partition, Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM appointments_default " +
+                "WHERE patient_id >= ?", Integer.class, FIRST_PATIENT_ID));
+
+        String plan = explain("SELECT a.id FROM appointments a " +
+                "WHERE a.appointment_date >= '2099-05-01 00:00:00' AND a.appointment_date < '2099-06-01 00:00:00'");
+        assertTrue(plan.contains(partition), plan);
+        assertFalse(plan.contains("appointments_default"), plan);
+    }
+
+    private String reasonIds(String... names) {
+        List<String> ids = new ArrayList<>();
+        for (String name : names) {
+            ids.add(String.valueOf(jdbcTemplate.queryForObject(
+                    "SELECT id FROM reasons WHERE name = ?", Integer.class, name)));
+        }
+        return String.join(", ", ids);
+    }
+
+    private String explain(String sql) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package nl.gerimedica.assignment.repository;
+
+import nl.gerimedica.assignment.dto.DayCount;
+import nl.gerimedica.assignment.dto.ReasonCount;
+import nl.gerimedica.assignment.dto.ReasonMonthCount;
+import nl.gerimedica.assignment.dto.StatisticsReconciliation;
+import nl.gerimedica.assignment.service.AppointmentStatisticsService;
+import nl.gerimedica.assignment.service.HospitalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that the appointment count rollups follow creates and deletes, and that reconciliation repairs drift
+ */
+@SpringBootTest(properties = "hospital.async-bulk.drainer-enabled=false")
+public class AppointmentStatisticsTest {
+
+    private static final String REASON = "Rollup Checkup";
+
+    @Autowired
+    private HospitalService hospitalService;
+
+    @Autowired
+    private AppointmentStatisticsService statisticsService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+        // Other tests insert appointments with plain SQL, which the rollups do not see
+        statisticsService.reconcile(true);
+    }
+
+    @Test
+    void rollupsFollowCreatesAndDeletes() {
+        hospitalService.bulkCreateAppointments("Rollup One", "111-22-0001", List.of(REASON, REASON),
+                List.of("2025-04-01T09:00:00", "2025-04-02T09:00:00"));
+        hospitalService.bulkCreateAppointments("Rollup Two", "111-22-0002", List.of(REASON),
+                List.of("2025-05-01T09:00:00"));
+
+        assertEquals(List.of(new ReasonCount(REASON, 3)), statisticsService.getReasonCounts());
+        assertEquals(List.of(new DayCount(LocalDate.of(2025, 4, 1), 1), new DayCount(LocalDate.of(2025, 4, 2), 1)),
+                statisticsService.getDayCounts("2025-04-01", "2025-05-01"));
+        assertEquals(List.of(new ReasonMonthCount(REASON, YearMonth.of(2025, 4), 2),
+                        new ReasonMonthCount(REASON, YearMonth.of(2025, 5), 1)),
+                statisticsService.getReasonMonthCounts(REASON.toLowerCase(), "2025-01", "2026-01"));
+
+        hospitalService.deleteAppointmentsBySSN("111-22-0001");
+        hospitalService.deleteAppointmentsBySSNs(List.of("111-22-0002"));
+
+        assertEquals(List.of(), statisticsService.getReasonCounts());
+        assertFalse(statisticsService.reconcile(false).rebuilt());
+    }
+
+    @Test
+    void reconcileRebuildsDriftedRollups() {
+        hospitalService.bulkCreateAppointments("Rollup Three", "111-22-0003", List.of(REASON),
+                List.of("2025-06-01T09:00:00"));
+        jdbcTemplate.update("UPDATE appointment_counts_by_day SET appointment_count = 5 WHERE appointment_day = ?",
+                LocalDate.of(2025, 6, 1));
+
+        StatisticsReconciliation reconciliation = statisticsService.reconcile(true);
+
+        assertEquals(1, reconciliation.dayMismatches());
+        assertEquals(0, reconciliation.reasonMismatches());
+        assertTrue(reconciliation.rebuilt());
+        assertEquals(List.of(new DayCount(LocalDate.of(2025, 6, 1), 1)),
+                statisticsService.getDayCounts("2025-06-01", "2025-07-01"));
+    }
+}
@@ -0,0 +1,86 @@
+package nl.gerimedica.assignment.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.gerimedica.assignment.entity.Appointment;
+import nl.gerimedica.assignment.entity.CacheRegions;
+import nl.gerimedica.assignment.entity.Patient;
+import nl.gerimedica.assignment.service.HospitalService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the second-level cache regions of Patient and their invalidation by the bulk delete path
+ */
+@SpringBootTest
+public class PatientSecondLevelCacheTest {
+
+    private static final String SSN = "555-66-7777";
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private HospitalService hospitalService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+
+        Patient patient = new Patient("Cached Patient", SSN);
+        patient.addAppointment(new Appointment("Checkup", LocalDateTime.of(2025, 3, 1, 9, 0), patient));
+        patient.addAppointment(new Appointment("Follow-up", LocalDateTime.of(2025, 3, 8, 9, 0), patient));
+        patientRepository.save(patient);
+    }
+
+    @Test
+    void naturalIdLookupsAndCollectionsAreServedFromTheirRegions() {
+        assertEquals(2, appointmentCount());
+        double ssnHits = hits(CacheRegions.PATIENTS_BY_SSN);
+        double collectionHits = hits(CacheRegions.PATIENT_APPOINTMENTS);
+
+        assertEquals(2, appointmentCount());
+
+        assertTrue(hits(CacheRegions.PATIENTS_BY_SSN) > ssnHits);
+        assertTrue(hits(CacheRegions.PATIENT_APPOINTMENTS) > collectionHits);
+    }
+
+    @Test
+    void batchDeleteEvictsCachedAppointmentCollection() {
+        assertEquals(2, appointmentCount());
+
+        hospitalService.deleteAppointmentsBySSNs(List.of(SSN));
+
+        assertEquals(0, appointmentCount());
+    }
+
+    private int appointmentCount() {
+        return transactionTemplate.execute(status -> patientRepository.loadBySsn(SSN)
+                .orElseThrow()
+                .getAppointments()
+                .size());
+    }
+
+    private double hits(String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit")
+                .functionCounter().count();
+    }
+}
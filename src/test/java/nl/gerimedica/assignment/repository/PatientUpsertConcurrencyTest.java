@@ -0,0 +1,139 @@
+package nl.gerimedica.assignment.repository;
+
+import nl.gerimedica.assignment.service.HospitalService;
+import nl.gerimedica.assignment.validation.Ssn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers patient creation from parallel writers: one SSN must end up as one patient, many SSNs must not block
+ * each other, and racing upserts outside the in-process locks must agree on the patient ID
+ */
+@SpringBootTest(properties = "hospital.async-bulk.drainer-enabled=false")
+public class PatientUpsertConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS = 40;
+    private static final String REASON = "Concurrency Checkup";
+
+    @Autowired
+    private HospitalService hospitalService;
+
+    @Autowired
+    private PatientUpserts patientUpserts;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        appointmentRepository.deleteAll();
+        patientRepository.deleteAll();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void oneSsnFromManyWriters_createsOnePatientWithAllAppointments() throws Exception {
+        List<Integer> created = runConcurrently(i -> () -> hospitalService.bulkCreateAppointments(
+                "Hammered Patient", "777-00-0001", List.of(REASON),
+                List.of(String.format("2025-07-01T%02d:%02d:00", i / 60, i % 60))).size());
+
+        assertTrue(created.stream().allMatch(count -> count == 1));
+        assertEquals(1, countPatients("777-00-0001"));
+        assertEquals(REQUESTS, appointmentRepository.count());
+    }
+
+    @Test
+    void manySsnsFromManyWriters_createsEachPatientOnce() throws Exception {
+        runConcurrently(i -> () -> hospitalService.bulkCreateAppointments(
+                "Patient " + i, ssnOf(i % (REQUESTS / 2)), List.of(REASON),
+                List.of(String.format("2025-08-01T%02d:00:00", i / (REQUESTS / 2)))).size());
+
+        for (int i = 0; i < REQUESTS / 2; i++) {
+            assertEquals(1, countPatients(ssnOf(i)));
+        }
+        assertEquals(REQUESTS / 2, patientRepository.count());
+        assertEquals(REQUESTS, appointmentRepository.count());
+    }
+
+    @Test
+    void racingUpserts_resolveEverySsnToOnePatient() throws Exception {
+        Map<String, String> names = Map.of(ssnOf(1), "First", ssnOf(2), "Second", ssnOf(3), "Third");
+
+        List<Map<String, Long>> results = runConcurrently(i -> () ->
+                transactionTemplate.execute(status -> patientUpserts.upsertAll(names)));
+
+        Set<Map<String, Long>> distinct = new HashSet<>(results);
+        assertEquals(1, distinct.size());
+        assertEquals(names.keySet(), distinct.iterator().next().keySet());
+        assertEquals(names.size(), patientRepository.count());
+    }
+
+    /**
+     * Run REQUESTS tasks on THREADS threads, all released at once
+     */
+    private <T> List<T> runConcurrently(IntFunction<Callable<T>> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            Callable<T> work = task.apply(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return work.call();
+            }));
+        }
+        start.countDown();
+
+        List<T> results = new ArrayList<>(REQUESTS);
+        for (Future<T> future : futures) {
+            results.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private int countPatients(String ssn) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM patients WHERE ssn = ?", Integer.class,
+                Ssn.parse(ssn));
+    }
+
+    private static String ssnOf(int i) {
+        return String.format("777-01-%04d", i + 1);
+    }
+}